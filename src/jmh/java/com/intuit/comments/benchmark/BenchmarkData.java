@@ -0,0 +1,124 @@
+package com.intuit.comments.benchmark;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.intuit.comments.ranking.HotScore;
+import com.intuit.comments.repo.CommentWriteRepository;
+
+/**
+ * Seeds the embedded database with a deterministic data set. The same
+ * parameters and seed always produce the same rows, timestamps included, so
+ * benchmark runs are comparable across commits.
+ * <p>
+ * Every post gets {@code commentsPerPost} comments arranged as reply chains of
+ * {@code replyDepth} replies below each top-level comment, and every comment
+ * gets {@code reactionsPerComment} reactions from distinct users, three
+ * quarters of them likes.
+ */
+final class BenchmarkData {
+
+	private static final long SEED = 42;
+	private static final int BATCH_SIZE = 1000;
+
+	/** Creation time of the first post and comment; the rest follow a minute apart. */
+	private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+	final List<Long> postIds = new ArrayList<>();
+	final List<Long> parentIds = new ArrayList<>();
+	final List<Long> parentPostIds = new ArrayList<>();
+	final List<Long> userIds = new ArrayList<>();
+
+	static BenchmarkData seed(JdbcTemplate jdbc, int users, int posts, int commentsPerPost, int replyDepth,
+			int reactionsPerComment) {
+		if (reactionsPerComment > users) {
+			throw new IllegalArgumentException("reactionsPerComment cannot exceed users");
+		}
+		SplittableRandom random = new SplittableRandom(SEED);
+		BenchmarkData data = new BenchmarkData();
+
+		List<Object[]> userRows = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			userRows.add(new Object[] { "user-" + i });
+		}
+		jdbc.batchUpdate("INSERT INTO users (username) VALUES (?)", userRows);
+		data.userIds.addAll(jdbc.queryForList("SELECT id FROM users ORDER BY id", Long.class));
+
+		List<Object[]> postRows = new ArrayList<>(posts);
+		for (int i = 0; i < posts; i++) {
+			postRows.add(new Object[] { data.user(random), "Post " + i, "Content of post " + i,
+					utc(START.plus(i, ChronoUnit.MINUTES)) });
+		}
+		jdbc.batchUpdate("INSERT INTO posts (user_id, title, content, created_at) VALUES (?, ?, ?, ?)", postRows);
+		data.postIds.addAll(jdbc.queryForList("SELECT id FROM posts ORDER BY id", Long.class));
+
+		// Comment IDs are assigned here and the sequence is moved past them afterwards
+		long nextId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM comments", Long.class);
+		List<Object[]> commentRows = new ArrayList<>(BATCH_SIZE);
+		List<Object[]> reactionRows = new ArrayList<>(BATCH_SIZE);
+		int minute = 0;
+		for (Long postId : data.postIds) {
+			Long parentId = null;
+			String path = "";
+			for (int i = 0; i < commentsPerPost; i++) {
+				int depth = i % (replyDepth + 1);
+				if (depth == 0) {
+					parentId = null;
+					path = "";
+				}
+				long id = nextId++;
+				Instant createdAt = START.plus(minute++, ChronoUnit.MINUTES);
+				commentRows.add(new Object[] { id, postId, parentId, data.user(random), "Comment " + id,
+						utc(createdAt), depth, path, HotScore.at(createdAt) });
+				for (int r = 0; r < reactionsPerComment; r++) {
+					// Consecutive users from an offset derived from the comment ID, so they are distinct per comment
+					long userId = data.userIds.get((int) ((id + r) % users));
+					reactionRows.add(new Object[] { id, userId, random.nextInt(4) == 0 ? "dislike" : "like" });
+				}
+				if (depth < replyDepth) {
+					data.parentIds.add(id);
+					data.parentPostIds.add(postId);
+				}
+				parentId = id;
+				path = path + id + "/";
+				if (commentRows.size() >= BATCH_SIZE) {
+					flush(jdbc, commentRows, reactionRows);
+				}
+			}
+		}
+		flush(jdbc, commentRows, reactionRows);
+		jdbc.execute("ALTER SEQUENCE comments_seq RESTART WITH " + (nextId + CommentWriteRepository.ID_BLOCK_SIZE));
+
+		jdbc.update("UPDATE comments c SET "
+				+ "like_count = (SELECT COUNT(*) FROM comment_reactions r WHERE r.comment_id = c.id AND r.type = 'like'), "
+				+ "dislike_count = (SELECT COUNT(*) FROM comment_reactions r WHERE r.comment_id = c.id AND r.type = 'dislike')");
+		jdbc.update("UPDATE comments SET net_likes = like_count - dislike_count");
+		jdbc.execute("ANALYZE");
+		return data;
+	}
+
+	/** Timestamps are stored as UTC date-times. */
+	private static LocalDateTime utc(Instant instant) {
+		return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+	}
+
+	private static void flush(JdbcTemplate jdbc, List<Object[]> commentRows, List<Object[]> reactionRows) {
+		jdbc.batchUpdate("INSERT INTO comments (id, post_id, parent_id, user_id, content, created_at, depth, path, "
+				+ "hot_score) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", commentRows);
+		jdbc.batchUpdate("INSERT INTO comment_reactions (comment_id, user_id, type) "
+				+ "VALUES (?, ?, CAST(? AS reaction_type))", reactionRows);
+		commentRows.clear();
+		reactionRows.clear();
+	}
+
+	private Long user(SplittableRandom random) {
+		return userIds.get(random.nextInt(userIds.size()));
+	}
+}
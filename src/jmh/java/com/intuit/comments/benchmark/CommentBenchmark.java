@@ -0,0 +1,161 @@
+package com.intuit.comments.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.intuit.comments.CommentsAppApplication;
+import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.PostActivityDTO;
+import com.intuit.comments.ranking.CommentReactionLeaderboard;
+import com.intuit.comments.ranking.PostActivityLeaderboard;
+import com.intuit.comments.repo.CommentRepository;
+import com.intuit.comments.repo.PostRepository;
+import com.intuit.comments.repo.projection.PostActivityRow;
+import com.intuit.comments.service.CommentService;
+import com.intuit.comments.service.PostService;
+
+/**
+ * Benchmarks the comment read queries, the post activity ranking and comment
+ * creation against an embedded H2 database seeded by {@link BenchmarkData}.
+ * <p>
+ * Queries are benchmarked on the repositories, below the comment page cache,
+ * so they measure the database work. Targets are drawn from a fixed-seed
+ * random sequence. Run with {@code ./gradlew jmh}; data volumes can be
+ * changed with JMH parameters, e.g. {@code -p commentsPerPost=1000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms1g", "-Xmx1g" })
+public class CommentBenchmark {
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+	@Param("1000")
+	int users;
+
+	@Param("100")
+	int posts;
+
+	@Param("200")
+	int commentsPerPost;
+
+	@Param("3")
+	int replyDepth;
+
+	@Param("5")
+	int reactionsPerComment;
+
+	private ConfigurableApplicationContext context;
+	private CommentRepository commentRepository;
+	private PostRepository postRepository;
+	private CommentService commentService;
+	private PostService postService;
+	private BenchmarkData data;
+	private SplittableRandom random;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(CommentsAppApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+						"logging.level.root=WARN",
+						// Keep background maintenance out of the measurements
+						"comments.leaderboard.reconcile-interval-ms=3600000")
+				.run();
+		commentRepository = context.getBean(CommentRepository.class);
+		postRepository = context.getBean(PostRepository.class);
+		commentService = context.getBean(CommentService.class);
+		postService = context.getBean(PostService.class);
+		data = BenchmarkData.seed(context.getBean(JdbcTemplate.class), users, posts, commentsPerPost, replyDepth,
+				reactionsPerComment);
+		context.getBean(PostActivityLeaderboard.class).reconcile();
+		context.getBean(CommentReactionLeaderboard.class).rebuild();
+		random = new SplittableRandom(7);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<CommentResponseDTO> findByPostIdOrderByCreatedAtDesc() {
+		return commentRepository.findByPostIdOrderByCreatedAtDesc(post(), FIRST_PAGE).getContent();
+	}
+
+	@Benchmark
+	public List<CommentResponseDTO> findByParentIdOrderByCreatedAtDesc() {
+		return commentRepository.findByParentIdOrderByCreatedAtDesc(parent(), FIRST_PAGE).getContent();
+	}
+
+	@Benchmark
+	public List<CommentResponseDTO> findTopCommentsByPost() {
+		return commentRepository.findTopCommentsByPost(post(), FIRST_PAGE);
+	}
+
+	/**
+	 * Top posts by activity as served, from the in-memory leaderboard.
+	 */
+	@Benchmark
+	public List<PostActivityDTO> findTopPostsByActivity() {
+		return postService.getTopPostsByActivity(0, 10);
+	}
+
+	/**
+	 * The aggregation that rebuilds the activity leaderboard.
+	 */
+	@Benchmark
+	public List<PostActivityRow> findPostActivity() {
+		return postRepository.findPostActivity();
+	}
+
+	/**
+	 * Adds a reply to a random comment. Each invocation grows the data set
+	 * slightly; at the default volumes the effect on the read benchmarks is
+	 * negligible, as they run in their own forks.
+	 */
+	@Benchmark
+	public CommentResponseDTO addComment() {
+		CommentDTO comment = new CommentDTO();
+		int parent = random.nextInt(data.parentIds.size());
+		comment.setPostId(data.parentPostIds.get(parent));
+		comment.setParentId(data.parentIds.get(parent));
+		comment.setUserId(data.userIds.get(random.nextInt(data.userIds.size())));
+		comment.setContent("Benchmark reply");
+		return commentService.addComment(comment);
+	}
+
+	private Long post() {
+		return data.postIds.get(random.nextInt(data.postIds.size()));
+	}
+
+	private Long parent() {
+		return data.parentIds.get(random.nextInt(data.parentIds.size()));
+	}
+}
@@ -0,0 +1,95 @@
+package com.intuit.comments.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.event.ActivityCountersFlushedEvent;
+import com.intuit.comments.event.ActivityCountersFlushedEvent.CommentTarget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded read-through cache for comment pages of a post, keyed by
+ * {@code (postId, sort, cursor, pageSize)} with size- and TTL-based eviction.
+ * <p>
+ * Each key also carries the post's current generation. A write that touches
+ * the post moves it to a fresh generation, so all of its cached pages stop
+ * matching at once without scanning the cache; the orphaned entries age out
+ * through normal eviction. Generations are drawn from one increasing sequence,
+ * so a post whose generation was itself evicted can never match stale pages.
+ * <p>
+ * Hit, miss, eviction and size metrics are published as the
+ * {@value #CACHE_NAME} cache through Micrometer.
+ */
+@Component
+public class CommentPageCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(CommentPageCache.class);
+
+	static final String CACHE_NAME = "commentPages";
+
+	private record PageKey(Long postId, long generation, String sort, String cursor, int pageSize) {
+	}
+
+	private final AtomicLong generationSequence = new AtomicLong();
+	private final Cache<Long, Long> generations;
+	private final Cache<PageKey, Object> pages;
+
+	public CommentPageCache(MeterRegistry meterRegistry,
+			@Value("${comments.cache.max-pages:10000}") long maxPages,
+			@Value("${comments.cache.ttl:30s}") Duration ttl) {
+		this.pages = Caffeine.newBuilder().maximumSize(maxPages).expireAfterWrite(ttl).recordStats().build();
+		this.generations = Caffeine.newBuilder().maximumSize(maxPages).build();
+		CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+	}
+
+	/**
+	 * Returns the cached page for the given key, loading and caching it on a
+	 * miss.
+	 *
+	 * @param postId   the post the page belongs to
+	 * @param sort     the ordering of the page, e.g. {@code "recent"} or
+	 *                 {@code "top"}
+	 * @param cursor   the position of the page in that ordering
+	 * @param pageSize the number of items requested
+	 * @param loader   reads the page from the database on a miss
+	 * @return the cached or freshly loaded page
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Long postId, String sort, String cursor, int pageSize, Supplier<T> loader) {
+		long generation = generations.get(postId, id -> generationSequence.incrementAndGet());
+		return (T) pages.get(new PageKey(postId, generation, sort, cursor, pageSize), key -> loader.get());
+	}
+
+	/**
+	 * Drops every cached page of a post.
+	 *
+	 * @param postId the post whose pages are invalidated
+	 */
+	public void invalidatePost(Long postId) {
+		generations.put(postId, generationSequence.incrementAndGet());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentAdded(CommentAddedEvent event) {
+		logger.debug("Invalidating cached comment pages of post {}", event.comment().postId());
+		invalidatePost(event.comment().postId());
+	}
+
+	@EventListener
+	public void onActivityCountersFlushed(ActivityCountersFlushedEvent event) {
+		event.comments().keySet().stream().map(CommentTarget::postId).distinct().forEach(this::invalidatePost);
+	}
+}
@@ -0,0 +1,78 @@
+package com.intuit.comments.cache;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.intuit.comments.event.PostCreatedEvent;
+import com.intuit.comments.repo.PostRepository;
+import com.intuit.comments.repo.UserRepository;
+import com.intuit.comments.repo.projection.UserNameRow;
+
+/**
+ * Bounded in-memory record of users and posts known to exist, so the comment
+ * write path can check its foreign keys without a query in the common case.
+ * Users are kept with their name, which the write path needs for its
+ * response. Unknown IDs fall back to the database and are remembered once
+ * found; misses are not cached, so an ID that appears later is picked up.
+ * Users and posts are never deleted, so a remembered ID never goes stale.
+ */
+@Component
+public class KnownIdCache {
+
+	private final Cache<Long, String> usernames;
+	private final Cache<Long, Boolean> posts;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	PostRepository postRepository;
+
+	public KnownIdCache(@Value("${comments.known-ids.max-size:100000}") long maxSize) {
+		this.usernames = Caffeine.newBuilder().maximumSize(maxSize).build();
+		this.posts = Caffeine.newBuilder().maximumSize(maxSize).build();
+	}
+
+	/**
+	 * @param userId the ID of the user
+	 * @return the name of the user, or empty if there is no such user
+	 */
+	public Optional<String> username(Long userId) {
+		String username = usernames.getIfPresent(userId);
+		if (username == null) {
+			username = userRepository.findNamesByIdIn(List.of(userId)).stream().findFirst()
+					.map(UserNameRow::getUsername).orElse(null);
+			if (username != null) {
+				usernames.put(userId, username);
+			}
+		}
+		return Optional.ofNullable(username);
+	}
+
+	/**
+	 * @param postId the ID of the post
+	 * @return whether the post exists
+	 */
+	public boolean postExists(Long postId) {
+		if (posts.getIfPresent(postId) != null) {
+			return true;
+		}
+		boolean exists = postRepository.existsById(postId);
+		if (exists) {
+			posts.put(postId, Boolean.TRUE);
+		}
+		return exists;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostCreated(PostCreatedEvent event) {
+		posts.put(event.post().id(), Boolean.TRUE);
+	}
+}
@@ -1,32 +1,60 @@
 package com.intuit.comments.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.intuit.comments.dto.CommentDTO;
-import com.intuit.comments.entity.Comment;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.LikeDislikeDTO;
 import com.intuit.comments.exceptions.CommentNotFoundException;
+import com.intuit.comments.exceptions.CommentValidationException;
+import com.intuit.comments.exceptions.PostNotFoundException;
+import com.intuit.comments.exceptions.TooManySubscribersException;
+import com.intuit.comments.exceptions.UserNotFoundException;
+import com.intuit.comments.exceptions.WriteQueueFullException;
+import com.intuit.comments.ranking.CommentRankOrder;
+import com.intuit.comments.service.CommentExportService;
 import com.intuit.comments.service.CommentService;
+import com.intuit.comments.service.ReactionService;
+import com.intuit.comments.stream.CommentStreamBroadcaster;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 /**
  * Handles requests related to comments on posts and replies. Provides endpoints
@@ -39,25 +67,58 @@ public class CommentController {
 
 	private static final Logger logger = LoggerFactory.getLogger(CommentController.class);
 
+	private static final int MAX_SLICE_SIZE = 100;
+
+	private static final int MAX_THREAD_DEPTH = 10;
+
+	private static final int MAX_BULK_SIZE = 5000;
+
+	private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
 	@Autowired
 	private CommentService commentService;
 
+	@Autowired
+	private ReactionService reactionService;
+
+	@Autowired
+	private CommentExportService commentExportService;
+
+	@Autowired
+	private CommentStreamBroadcaster commentStreamBroadcaster;
+
+	@Value("${comments.write-behind.enabled:false}")
+	private boolean writeBehindEnabled;
+
 	/**
-	 * Adds a new comment to a post or as a reply to another comment.
+	 * Adds a new comment to a post or as a reply to another comment. In
+	 * write-behind mode the comment is acknowledged with 202 and its assigned ID
+	 * before it is persisted, and rejected with 429 when too many comments are
+	 * pending.
 	 * 
 	 * @param commentDTO Data transfer object containing comment details.
 	 * @return ResponseEntity containing the added comment or an error message.
 	 */
 	@PostMapping("/comments")
 	public ResponseEntity<?> addComment(@Valid @RequestBody CommentDTO commentDTO) {
-		logger.info("Adding a new comment: {}", commentDTO);
+		logger.debug("Adding a new comment: {}", commentDTO);
 		try {
-			Comment addedComment = commentService.addComment(commentDTO);
+			if (writeBehindEnabled) {
+				return ResponseEntity.status(HttpStatus.ACCEPTED).body(commentService.acceptComment(commentDTO));
+			}
+			CommentResponseDTO addedComment = commentService.addComment(commentDTO);
 			return ResponseEntity.ok(addedComment);
+		} catch (WriteQueueFullException e) {
+			logger.warn("Write queue full, rejecting comment for post ID: {}", commentDTO.getPostId());
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+					.body(e.getMessage());
 		} catch (CommentNotFoundException e) {
 			logger.error("Comment not found: {}", e.getMessage());
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Comment not found");
-		} catch (ValidationException e) {
+		} catch (PostNotFoundException | UserNotFoundException e) {
+			logger.error("Comment reference not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (CommentValidationException | ValidationException e) {
 			logger.error("Validation failed: {}", e.getMessage());
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Validation failed: " + e.getMessage());
 		} catch (Exception e) {
@@ -66,6 +127,55 @@ public class CommentController {
 		}
 	}
 
+	/**
+	 * Adds many comments in one call, for migrations and importers. Either all
+	 * comments are added or, if any of them is invalid, none.
+	 * 
+	 * @param commentDTOs The comments to add; replies must refer to existing
+	 *                    comments.
+	 * @return ResponseEntity containing the IDs of the added comments and the
+	 *         insert throughput, or an error message.
+	 */
+	@PostMapping("/comments/bulk")
+	public ResponseEntity<?> bulkAddComments(
+			@RequestBody @NotEmpty(message = "Comments cannot be empty") @Size(max = MAX_BULK_SIZE, message = "Cannot add more than " + MAX_BULK_SIZE + " comments per call") List<@Valid CommentDTO> commentDTOs) {
+		logger.debug("Adding {} comments in bulk", commentDTOs.size());
+		try {
+			return ResponseEntity.status(HttpStatus.CREATED).body(commentService.bulkAddComments(commentDTOs));
+		} catch (CommentNotFoundException | PostNotFoundException | UserNotFoundException e) {
+			logger.warn("Bulk comment reference not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (CommentValidationException e) {
+			logger.warn("Bulk comment validation failed: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Validation failed: " + e.getMessage());
+		} catch (Exception e) {
+			logger.error("An error occurred while adding comments in bulk: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred");
+		}
+	}
+
+	/**
+	 * Records a like or dislike of a user on a comment. Repeating the same
+	 * reaction is a no-op; switching between like and dislike updates the
+	 * existing reaction in place.
+	 * 
+	 * @param likeDislikeDTO Data transfer object containing reaction details.
+	 * @return ResponseEntity containing the reaction outcome or an error message.
+	 */
+	@PostMapping("/comments/reactions")
+	public ResponseEntity<?> reactToComment(@Valid @RequestBody LikeDislikeDTO likeDislikeDTO) {
+		logger.debug("Recording reaction: {}", likeDislikeDTO);
+		try {
+			return ResponseEntity.ok(reactionService.reactToComment(likeDislikeDTO));
+		} catch (CommentNotFoundException | UserNotFoundException e) {
+			logger.error("Reaction target not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("An error occurred while recording the reaction: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred");
+		}
+	}
+
 	/**
 	 * Retrieves the most recent comments for a specific post, sorted by creation
 	 * date in descending order.
@@ -77,7 +187,7 @@ public class CommentController {
 	 */
 	@GetMapping("/comments/recent/{postId}")
 	public ResponseEntity<?> findByPostIdWithRecentComments(@PathVariable("postId") Long postId, Pageable pageable) {
-		logger.info("Fetching recent comments for post ID: {}", postId);
+		logger.debug("Fetching recent comments for post ID: {}", postId);
 
 		// Validate postId
 		if (postId == null || postId <= 0) {
@@ -95,6 +205,37 @@ public class CommentController {
 		}
 	}
 
+	/**
+	 * Retrieves a slice of the most recent comments for a specific post using
+	 * keyset pagination. Unlike the page-based variant, no count query runs and
+	 * latency stays flat however deep the client scrolls.
+	 * 
+	 * @param postId The ID of the post for which comments are requested.
+	 * @param cursor The cursor returned with the previous slice; omit for the
+	 *               first slice.
+	 * @param size   The maximum number of comments to return.
+	 * @return ResponseEntity containing the slice and the next cursor or an error
+	 *         message.
+	 */
+	@GetMapping("/comments/recent/{postId}/cursor")
+	public ResponseEntity<?> findByPostIdWithRecentCommentsAfter(@PathVariable("postId") Long postId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Size cannot exceed " + MAX_SLICE_SIZE) Integer size) {
+		logger.debug("Fetching recent comments for post ID: {} after cursor: {}", postId, cursor);
+		if (postId == null || postId <= 0) {
+			return ResponseEntity.badRequest().body("Invalid post ID");
+		}
+		try {
+			return ResponseEntity.ok(commentService.findRecentByPost(postId, cursor, size));
+		} catch (IllegalArgumentException e) {
+			logger.error("Invalid cursor: {}", cursor, e);
+			return ResponseEntity.badRequest().body("Invalid cursor");
+		} catch (Exception e) {
+			logger.error("An error occurred while fetching comments for post ID: {}", postId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An internal error occurred");
+		}
+	}
+
 	/**
 	 * Retrieves the most recent replies for a specific comment, sorted by creation
 	 * date in descending order.
@@ -107,7 +248,7 @@ public class CommentController {
 	@GetMapping("/comments/recent/replies/{parentId}")
 	public ResponseEntity<?> findByParentIdWithRecentReplies(@PathVariable("parentId") Long parentId,
 			Pageable pageable) {
-		logger.info("Fetching recent replies for parent comment ID: {}", parentId);
+		logger.debug("Fetching recent replies for parent comment ID: {}", parentId);
 
 		// Validate parentId
 		if (parentId == null || parentId <= 0) {
@@ -116,7 +257,7 @@ public class CommentController {
 		}
 
 		try {
-			List<Comment> replies = commentService.findByParentIdOrderByCreatedAtDesc(parentId, pageable);
+			List<CommentResponseDTO> replies = commentService.findByParentIdOrderByCreatedAtDesc(parentId, pageable);
 			return ResponseEntity.ok(replies);
 		} catch (CommentNotFoundException e) {
 			logger.error("Comment not found for ID: {}", parentId, e);
@@ -129,24 +270,236 @@ public class CommentController {
 	}
 
 	/**
-	 * Retrieves the top comments for a specific post, typically based on criteria
-	 * such as number of likes or replies. Note: This endpoint currently behaves the
-	 * same as findByPostIdWithRecentComments.
+	 * Retrieves a slice of the most recent replies for a specific comment using
+	 * keyset pagination.
+	 * 
+	 * @param parentId The ID of the parent comment for which replies are requested.
+	 * @param cursor   The cursor returned with the previous slice; omit for the
+	 *                 first slice.
+	 * @param size     The maximum number of replies to return.
+	 * @return ResponseEntity containing the slice and the next cursor or an error
+	 *         message.
+	 */
+	@GetMapping("/comments/recent/replies/{parentId}/cursor")
+	public ResponseEntity<?> findByParentIdWithRecentRepliesAfter(@PathVariable("parentId") Long parentId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Size cannot exceed " + MAX_SLICE_SIZE) Integer size) {
+		logger.debug("Fetching recent replies for parent comment ID: {} after cursor: {}", parentId, cursor);
+		if (parentId == null || parentId <= 0) {
+			logger.error("Invalid parent comment ID: {}", parentId);
+			return ResponseEntity.badRequest().body("Invalid parent comment ID");
+		}
+		try {
+			return ResponseEntity.ok(commentService.findRecentReplies(parentId, cursor, size));
+		} catch (IllegalArgumentException e) {
+			logger.error("Invalid cursor: {}", cursor, e);
+			return ResponseEntity.badRequest().body("Invalid cursor");
+		} catch (Exception e) {
+			logger.error("Error fetching replies for parent comment ID: {}", parentId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while fetching replies");
+		}
+	}
+
+	/**
+	 * Retrieves a slice of a user's most recent comments using keyset
+	 * pagination. Each entry carries a snippet of the content and the comment's
+	 * counters rather than the full comment.
+	 * 
+	 * @param userId The ID of the user whose comments are requested.
+	 * @param cursor The cursor returned with the previous slice; omit for the
+	 *               first slice.
+	 * @param size   The maximum number of comments to return.
+	 * @return ResponseEntity containing the slice and the next cursor or an error
+	 *         message.
+	 */
+	@GetMapping("/comments/by-user/{userId}")
+	public ResponseEntity<?> findRecentCommentsByUser(@PathVariable("userId") Long userId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Size cannot exceed " + MAX_SLICE_SIZE) Integer size) {
+		logger.debug("Fetching recent comments by user ID: {} after cursor: {}", userId, cursor);
+		return findUserHistory(userId, false, cursor, size);
+	}
+
+	/**
+	 * Retrieves a slice of a user's most recent replies to other comments using
+	 * keyset pagination.
+	 * 
+	 * @param userId The ID of the user whose replies are requested.
+	 * @param cursor The cursor returned with the previous slice; omit for the
+	 *               first slice.
+	 * @param size   The maximum number of replies to return.
+	 * @return ResponseEntity containing the slice and the next cursor or an error
+	 *         message.
+	 */
+	@GetMapping("/comments/by-user/{userId}/replies")
+	public ResponseEntity<?> findRecentRepliesByUser(@PathVariable("userId") Long userId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Size cannot exceed " + MAX_SLICE_SIZE) Integer size) {
+		logger.debug("Fetching recent replies by user ID: {} after cursor: {}", userId, cursor);
+		return findUserHistory(userId, true, cursor, size);
+	}
+
+	private ResponseEntity<?> findUserHistory(Long userId, boolean repliesOnly, String cursor, int size) {
+		if (userId == null || userId <= 0) {
+			return ResponseEntity.badRequest().body("Invalid user ID");
+		}
+		try {
+			return ResponseEntity.ok(commentService.findRecentByUser(userId, repliesOnly, cursor, size));
+		} catch (IllegalArgumentException e) {
+			logger.error("Invalid cursor: {}", cursor, e);
+			return ResponseEntity.badRequest().body("Invalid cursor");
+		} catch (Exception e) {
+			logger.error("Error fetching comments by user ID: {}", userId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An internal error occurred");
+		}
+	}
+
+	/**
+	 * Subscribes to the new comments and comment counter changes of a post as
+	 * server-sent events, instead of polling the recent comments endpoint. A
+	 * client that falls too far behind has its stream closed and should reload
+	 * the comments before subscribing again.
+	 * <p>
+	 * The stream is not an {@code SseEmitter}: its writes block the sending
+	 * thread on a slow client, while the broadcaster writes the raw response
+	 * with non-blocking IO. A null return tells Spring MVC that the handler has
+	 * taken over the response, which the broadcaster owns from then on.
+	 * 
+	 * @param postId   The ID of the post to follow.
+	 * @param request  The request, put into asynchronous mode for the stream.
+	 * @param response The response the events are streamed to.
+	 * @return null once the stream is open; otherwise ResponseEntity with 400
+	 *         for an invalid ID, 404 for an unknown post or 503 when the server
+	 *         has reached its subscriber limit.
+	 */
+	@GetMapping("/comments/stream/{postId}")
+	public @Nullable ResponseEntity<String> streamComments(@PathVariable("postId") Long postId,
+			HttpServletRequest request, HttpServletResponse response) {
+		logger.debug("Subscribing to the comment stream of post ID: {}", postId);
+		if (postId == null || postId <= 0) {
+			return ResponseEntity.badRequest().body("Invalid post ID");
+		}
+		try {
+			commentStreamBroadcaster.subscribe(postId, request, response);
+			return null;
+		} catch (PostNotFoundException e) {
+			logger.error("Comment stream of unknown post: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (TooManySubscribersException e) {
+			logger.warn("Subscriber limit reached, rejecting comment stream of post ID: {}", postId);
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+					.body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error opening the comment stream of post ID: {}", postId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An internal error occurred");
+		}
+	}
+
+	/**
+	 * Streams every comment on a post and/or in a time range as newline-delimited
+	 * JSON, oldest first, optionally gzip-compressed. Comments are written as
+	 * they are read from the database, so exports of any size run in constant
+	 * memory instead of paging through the recent comments endpoint.
+	 * 
+	 * @param postId    The ID of the post whose comments are exported.
+	 * @param from      Only export comments created at or after this instant.
+	 * @param to        Only export comments created before this instant.
+	 * @param reactions Whether to include the reactions on each comment.
+	 * @param gzip      Whether to compress the export with gzip.
+	 * @return ResponseEntity streaming the export or an error message.
+	 */
+	@GetMapping("/comments/export")
+	public ResponseEntity<StreamingResponseBody> exportComments(@RequestParam(value = "postId", required = false) Long postId,
+			@RequestParam(value = "from", required = false) Instant from,
+			@RequestParam(value = "to", required = false) Instant to,
+			@RequestParam(value = "reactions", defaultValue = "false") boolean reactions,
+			@RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+		logger.debug("Exporting comments for post ID: {} from: {} to: {}", postId, from, to);
+		if (postId == null && from == null && to == null) {
+			return badExportRequest("A post ID or a time range is required");
+		}
+		if (from != null && to != null && !from.isBefore(to)) {
+			return badExportRequest("The start of the time range must be before its end");
+		}
+		StreamingResponseBody export = out -> {
+			OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+			try {
+				long exported = commentExportService.exportComments(postId, from, to, reactions, target);
+				if (target instanceof GZIPOutputStream gzipStream) {
+					gzipStream.finish();
+				}
+				logger.debug("Exported {} comments for post ID: {}", exported, postId);
+			} catch (IOException | RuntimeException e) {
+				// The response is already committed, so the client sees a truncated export
+				logger.error("Error exporting comments for post ID: {}", postId, e);
+				throw e;
+			}
+		};
+		String fileName = "comments" + (postId != null ? "-post-" + postId : "") + (gzip ? ".ndjson.gz" : ".ndjson");
+		return ResponseEntity.ok()
+				.contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename(fileName).build().toString())
+				.body(export);
+	}
+
+	/**
+	 * Streaming responses can only be returned from a handler declaring
+	 * {@code ResponseEntity<StreamingResponseBody>}, so errors are streamed too.
+	 */
+	private static ResponseEntity<StreamingResponseBody> badExportRequest(String message) {
+		return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+				.body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Retrieves the whole comment tree of a post in one round trip, nested up to
+	 * the given depth with a per-parent limit on the number of replies, instead
+	 * of one replies request per expanded comment.
+	 * 
+	 * @param postId   The ID of the post whose thread is requested.
+	 * @param maxDepth The deepest reply level to include; 0 for top-level only.
+	 * @param fanOut   The maximum number of comments per parent at each level.
+	 * @return ResponseEntity containing the nested thread or an error message.
+	 */
+	@GetMapping("/comments/thread/{postId}")
+	public ResponseEntity<?> findThreadByPostId(@PathVariable("postId") Long postId,
+			@RequestParam(value = "maxDepth", defaultValue = "3") @Min(value = 0, message = "Max depth cannot be negative") @Max(value = MAX_THREAD_DEPTH, message = "Max depth cannot exceed " + MAX_THREAD_DEPTH) Integer maxDepth,
+			@RequestParam(value = "fanOut", defaultValue = "10") @Min(value = 1, message = "Fan-out must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Fan-out cannot exceed " + MAX_SLICE_SIZE) Integer fanOut) {
+		logger.debug("Fetching thread for post ID: {} with max depth: {} and fan-out: {}", postId, maxDepth, fanOut);
+		if (postId == null || postId <= 0) {
+			return ResponseEntity.badRequest().body("Invalid post ID");
+		}
+		try {
+			return ResponseEntity.ok(commentService.findThreadByPost(postId, maxDepth, fanOut));
+		} catch (Exception e) {
+			logger.error("An error occurred while fetching the thread for post ID: {}", postId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An internal error occurred");
+		}
+	}
+
+	/**
+	 * Retrieves the top-level comments for a specific post, ranked in descending
+	 * order by net likes (likes minus dislikes), reply count or a combined score
+	 * of both.
 	 * 
 	 * @param postId   The ID of the post for which top comments are requested.
+	 * @param rankBy   The ranking: {@code likes} (default), {@code replies} or
+	 *                 {@code score}.
 	 * @param pageable Pagination information.
 	 * @return ResponseEntity containing a page of top comments or an error message.
 	 */
 	@GetMapping("/comments/top/{postId}")
 	public ResponseEntity<?> findByPostIdWithTopComments(@PathVariable("postId") @NotNull Long postId,
-			Pageable pageable) {
-		logger.info("Fetching top comments for post ID: {}", postId);
+			@RequestParam(value = "rankBy", defaultValue = "likes") String rankBy, Pageable pageable) {
+		logger.debug("Fetching top comments for post ID: {} by {}", postId, rankBy);
 		try {
-			var comments = commentService.findByPostIdOrderByCreatedAtDesc(postId, pageable);
+			var comments = commentService.findTopCommentsByPost(postId, CommentRankOrder.fromParam(rankBy), pageable);
 			return ResponseEntity.ok(comments);
 		} catch (IllegalArgumentException e) {
-			logger.error("Invalid postId: {}", postId, e);
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid postId", e);
+			logger.error("Invalid top comments request for post ID: {}", postId, e);
+			return ResponseEntity.badRequest().body(e.getMessage());
 		} catch (Exception e) {
 			logger.error("Error fetching top comments for post ID: {}", postId, e);
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching top comments", e);
@@ -154,19 +507,79 @@ public class CommentController {
 	}
 
 	/**
-	 * Retrieves the top replies for a specific parent comment, typically based on
-	 * criteria such as number of likes or replies. Note: This endpoint currently
-	 * behaves the same as findByParentIdWithRecentReplies.
+	 * Retrieves the hot top-level comments for a specific post, ranked by a
+	 * time-decayed score of likes and replies so that recent activity outranks
+	 * old totals.
+	 * 
+	 * @param postId   The ID of the post for which hot comments are requested.
+	 * @param pageable Pagination information.
+	 * @return ResponseEntity containing a page of hot comments or an error message.
+	 */
+	@GetMapping("/comments/hot/{postId}")
+	public ResponseEntity<?> findByPostIdWithHotComments(@PathVariable("postId") @NotNull Long postId,
+			Pageable pageable) {
+		logger.debug("Fetching hot comments for post ID: {}", postId);
+		try {
+			return ResponseEntity.ok(commentService.findHotCommentsByPost(postId, pageable));
+		} catch (Exception e) {
+			logger.error("Error fetching hot comments for post ID: {}", postId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching hot comments");
+		}
+	}
+
+	/**
+	 * Retrieves the most liked comments across all posts.
+	 * 
+	 * @param limit The maximum number of comments to return.
+	 * @return ResponseEntity containing the most liked comments or an error message.
+	 */
+	@GetMapping("/comments/most-liked")
+	public ResponseEntity<?> findMostLikedComments(
+			@RequestParam(value = "limit", defaultValue = "10") @Min(value = 1, message = "Limit must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Limit cannot exceed " + MAX_SLICE_SIZE) Integer limit) {
+		logger.debug("Fetching the {} most liked comments", limit);
+		try {
+			return ResponseEntity.ok(commentService.findMostLikedComments(limit));
+		} catch (Exception e) {
+			logger.error("Error fetching most liked comments", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching most liked comments");
+		}
+	}
+
+	/**
+	 * Retrieves the most disliked comments across all posts.
+	 * 
+	 * @param limit The maximum number of comments to return.
+	 * @return ResponseEntity containing the most disliked comments or an error message.
+	 */
+	@GetMapping("/comments/most-disliked")
+	public ResponseEntity<?> findMostDislikedComments(
+			@RequestParam(value = "limit", defaultValue = "10") @Min(value = 1, message = "Limit must be at least 1") @Max(value = MAX_SLICE_SIZE, message = "Limit cannot exceed " + MAX_SLICE_SIZE) Integer limit) {
+		logger.debug("Fetching the {} most disliked comments", limit);
+		try {
+			return ResponseEntity.ok(commentService.findMostDislikedComments(limit));
+		} catch (Exception e) {
+			logger.error("Error fetching most disliked comments", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching most disliked comments");
+		}
+	}
+
+	/**
+	 * Retrieves the top replies for a specific parent comment, ranked in
+	 * descending order by the number of replies each has received (default), net
+	 * likes or a combined score of both.
 	 * 
 	 * @param parentId The ID of the parent comment for which top replies are
 	 *                 requested.
+	 * @param rankBy   The ranking: {@code replies} (default), {@code likes} or
+	 *                 {@code score}.
 	 * @param pageable Pagination information.
 	 * @return ResponseEntity containing a page of top replies or an error message.
 	 */
 	@GetMapping("/comments/top/replies/{parentId}")
-	public ResponseEntity<?> findByParentIdWithTopReplies(@PathVariable("parentId") Long parentId, Pageable pageable) {
+	public ResponseEntity<?> findByParentIdWithTopReplies(@PathVariable("parentId") Long parentId,
+			@RequestParam(value = "rankBy", defaultValue = "replies") String rankBy, Pageable pageable) {
 		try {
-			logger.info("Fetching top replies for parent comment ID: {}", parentId);
+			logger.debug("Fetching top replies for parent comment ID: {} by {}", parentId, rankBy);
 
 			// Validate the parentId
 			if (parentId == null || parentId <= 0) {
@@ -175,11 +588,12 @@ public class CommentController {
 			}
 
 			// Fetch the comments
-			List<Comment> comments = commentService.findByParentIdOrderByCreatedAtDesc(parentId, pageable);
+			List<CommentResponseDTO> comments = commentService.findTopReplies(parentId,
+					CommentRankOrder.fromParam(rankBy), pageable);
 
 			// If no comments are found, return 404
 			if (comments.isEmpty()) {
-				logger.info("No comments found for parent comment ID: {}", parentId);
+				logger.debug("No comments found for parent comment ID: {}", parentId);
 				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No comments found");
 			}
 
@@ -187,6 +601,9 @@ public class CommentController {
 		} catch (CommentNotFoundException e) {
 			logger.error("Parent comment not found: {}", parentId, e);
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parent comment not found");
+		} catch (IllegalArgumentException e) {
+			logger.error("Invalid ranking for top replies: {}", rankBy, e);
+			return ResponseEntity.badRequest().body(e.getMessage());
 		} catch (DataAccessException e) {
 			logger.error("Database error while fetching comments for parent ID: {}", parentId, e);
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Database error");
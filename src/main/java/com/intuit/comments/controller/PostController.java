@@ -18,11 +18,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.intuit.comments.dto.PostDTO;
-import com.intuit.comments.entity.Post;
+import com.intuit.comments.dto.PostLikeDislikeDTO;
+import com.intuit.comments.dto.PostResponseDTO;
+import com.intuit.comments.exceptions.PostNotFoundException;
 import com.intuit.comments.exceptions.ResourceNotFoundException;
+import com.intuit.comments.exceptions.UserNotFoundException;
 import com.intuit.comments.service.PostService;
+import com.intuit.comments.service.ReactionService;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -40,6 +45,9 @@ public class PostController {
 	@Autowired
 	private PostService postService;
 
+	@Autowired
+	private ReactionService reactionService;
+
 	/**
 	 * Creates a new post based on the data received in the PostDTO.
 	 * 
@@ -48,9 +56,9 @@ public class PostController {
 	 */
 	@PostMapping("/post")
 	public ResponseEntity<?> addPost(@Valid @RequestBody PostDTO postDTO) {
-		logger.info("Request to create a new post: {}", postDTO);
+		logger.debug("Request to create a new post: {}", postDTO);
 		try {
-			Post createdPost = postService.createPost(postDTO);
+			PostResponseDTO createdPost = postService.createPost(postDTO);
 			return ResponseEntity.status(HttpStatus.CREATED).body(createdPost);
 		} catch (Exception e) {
 			logger.error("Error occurred while creating post: {}", e.getMessage());
@@ -58,6 +66,28 @@ public class PostController {
 		}
 	}
 
+	/**
+	 * Records a like or dislike of a user on a post. Repeating the same reaction
+	 * is a no-op; switching between like and dislike updates the existing
+	 * reaction in place.
+	 * 
+	 * @param postLikeDislikeDTO the DTO containing the post, user and reaction type
+	 * @return ResponseEntity containing the reaction outcome
+	 */
+	@PostMapping("/post/reactions")
+	public ResponseEntity<?> reactToPost(@Valid @RequestBody PostLikeDislikeDTO postLikeDislikeDTO) {
+		logger.debug("Request to record a post reaction: {}", postLikeDislikeDTO);
+		try {
+			return ResponseEntity.ok(reactionService.reactToPost(postLikeDislikeDTO));
+		} catch (PostNotFoundException | UserNotFoundException e) {
+			logger.warn("Reaction target not found: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error occurred while recording post reaction: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error recording reaction");
+		}
+	}
+
 	/**
 	 * Retrieves a list of posts made by a specific user, with pagination.
 	 * 
@@ -70,12 +100,12 @@ public class PostController {
 	public ResponseEntity<?> getPostByUser(
 			@RequestParam("userId") @NotNull(message = "User ID cannot be null") Long userId,
 			@RequestParam(value = "pageNumber", defaultValue = "0") @Min(value = 0, message = "Page number cannot be negative") Integer pageNumber,
-			@RequestParam(value = "pageSize", defaultValue = "5") @Min(value = 1, message = "Page size must be at least 1") Integer pageSize) {
+			@RequestParam(value = "pageSize", defaultValue = "5") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") Integer pageSize) {
 
-		logger.info("Request to get posts for userId: {}, pageNumber: {}, pageSize: {}", userId, pageNumber, pageSize);
+		logger.debug("Request to get posts for userId: {}, pageNumber: {}, pageSize: {}", userId, pageNumber, pageSize);
 		try {
 			Pageable pageable = PageRequest.of(pageNumber, pageSize);
-			List<Post> posts = postService.getPostsByUser(userId, pageable);
+			List<PostResponseDTO> posts = postService.getPostsByUser(userId, pageable);
 			if (posts.isEmpty()) {
 				throw new ResourceNotFoundException("No posts found for user with ID: " + userId);
 			}
@@ -88,4 +118,75 @@ public class PostController {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving posts");
 		}
 	}
+
+	/**
+	 * Retrieves a slice of a user's posts, newest first, using keyset
+	 * pagination. Unlike page numbers, the cursor keeps deep pages as fast as
+	 * the first one.
+	 * 
+	 * @param userId the ID of the user whose posts are to be retrieved
+	 * @param cursor the cursor returned with the previous slice; omit for the
+	 *               first slice
+	 * @param size   the maximum number of posts to return
+	 * @return ResponseEntity containing the slice and the next cursor
+	 */
+	@GetMapping("/get/posts/by-user/cursor")
+	public ResponseEntity<?> getRecentPostsByUser(
+			@RequestParam("userId") @NotNull(message = "User ID cannot be null") Long userId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") @Min(value = 1, message = "Size must be at least 1") @Max(value = 100, message = "Size cannot exceed 100") Integer size) {
+		logger.debug("Request to get posts for userId: {} after cursor: {}", userId, cursor);
+		try {
+			return ResponseEntity.ok(postService.getRecentPostsByUser(userId, cursor, size));
+		} catch (IllegalArgumentException e) {
+			logger.error("Invalid cursor: {}", cursor, e);
+			return ResponseEntity.badRequest().body("Invalid cursor");
+		} catch (Exception e) {
+			logger.error("Error occurred while retrieving posts: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving posts");
+		}
+	}
+
+	/**
+	 * Retrieves posts ranked by hot score, a time-decayed measure of recent likes
+	 * and comments.
+	 * 
+	 * @param pageNumber the page number to retrieve (zero-based)
+	 * @param pageSize   the number of posts per page
+	 * @return ResponseEntity containing the list of posts
+	 */
+	@GetMapping("/get/posts/hot")
+	public ResponseEntity<?> getHotPosts(
+			@RequestParam(value = "pageNumber", defaultValue = "0") @Min(value = 0, message = "Page number cannot be negative") Integer pageNumber,
+			@RequestParam(value = "pageSize", defaultValue = "10") @Min(value = 1, message = "Page size must be at least 1") @Max(value = 100, message = "Page size cannot exceed 100") Integer pageSize) {
+		logger.debug("Request to get hot posts, pageNumber: {}, pageSize: {}", pageNumber, pageSize);
+		try {
+			return ResponseEntity.ok(postService.getHotPosts(PageRequest.of(pageNumber, pageSize)));
+		} catch (Exception e) {
+			logger.error("Error occurred while retrieving hot posts: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving posts");
+		}
+	}
+
+	/**
+	 * Retrieves the most active posts, ranked by total reactions, then the time of
+	 * the latest comment, then the post creation date. Offsets past the top 1000
+	 * posts return an empty list.
+	 * 
+	 * @param offset the number of top posts to skip
+	 * @param limit  the maximum number of posts to return
+	 * @return ResponseEntity containing the ranked post activity summaries
+	 */
+	@GetMapping("/get/posts/top-activity")
+	public ResponseEntity<?> getTopPostsByActivity(
+			@RequestParam(value = "offset", defaultValue = "0") @Min(value = 0, message = "Offset cannot be negative") Integer offset,
+			@RequestParam(value = "limit", defaultValue = "10") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 100, message = "Limit cannot exceed 100") Integer limit) {
+		logger.debug("Request to get top posts by activity, offset: {}, limit: {}", offset, limit);
+		try {
+			return ResponseEntity.ok(postService.getTopPostsByActivity(offset, limit));
+		} catch (Exception e) {
+			logger.error("Error occurred while retrieving top posts by activity: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving posts");
+		}
+	}
 }
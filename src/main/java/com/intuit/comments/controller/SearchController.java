@@ -0,0 +1,81 @@
+package com.intuit.comments.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.comments.dto.SearchHitDTO;
+import com.intuit.comments.search.SearchDocuments;
+import com.intuit.comments.service.SearchService;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * The SearchController class handles full-text searches over comments and
+ * posts.
+ */
+@RestController
+@RequestMapping("/api")
+@Validated
+public class SearchController {
+
+	private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+	@Autowired
+	private SearchService searchService;
+
+	/**
+	 * Searches comment and post content, see
+	 * {@link SearchService#search(String, String, Long, boolean, int, int)} for
+	 * the query syntax.
+	 *
+	 * @param q      the search query
+	 * @param type   {@code all}, {@code comments} or {@code posts}
+	 * @param postId restricts the search to one post and its comments
+	 * @param sort   {@code relevance} or {@code recent}
+	 * @param page   the zero-based page of hits
+	 * @param size   the number of hits per page
+	 * @return ResponseEntity containing the hits of the requested page
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<?> search(@RequestParam("q") String q,
+			@RequestParam(value = "type", defaultValue = "all") String type,
+			@RequestParam(value = "postId", required = false) Long postId,
+			@RequestParam(value = "sort", defaultValue = "relevance") String sort,
+			@RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+			@RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+		logger.debug("Request to search for: {}", q);
+		if (q.isBlank()) {
+			return ResponseEntity.badRequest().body("Search query must not be blank");
+		}
+		String documentType;
+		switch (type) {
+		case "all" -> documentType = null;
+		case "comments" -> documentType = SearchDocuments.COMMENT;
+		case "posts" -> documentType = SearchDocuments.POST;
+		default -> {
+			return ResponseEntity.badRequest().body("Unknown search type: " + type);
+		}
+		}
+		if (!sort.equals("relevance") && !sort.equals("recent")) {
+			return ResponseEntity.badRequest().body("Unknown search sort: " + sort);
+		}
+		try {
+			List<SearchHitDTO> hits = searchService.search(q, documentType, postId, sort.equals("recent"), page, size);
+			return ResponseEntity.ok(hits);
+		} catch (Exception e) {
+			logger.error("Error occurred while searching for {}: {}", q, e.getMessage());
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error searching");
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.intuit.comments.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment accepted by the write-behind queue. It has its final ID and
+ * creation time but may not be persisted yet.
+ */
+public record AcceptedCommentDTO(Long id, Long postId, Long parentId, Long userId, String content,
+		LocalDateTime createdAt) {
+}
@@ -0,0 +1,14 @@
+package com.intuit.comments.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk comment insert.
+ *
+ * @param inserted      number of comments inserted
+ * @param ids           IDs of the inserted comments, in request order
+ * @param elapsedMillis time spent resolving references and inserting
+ * @param rowsPerSecond insert throughput over {@code elapsedMillis}
+ */
+public record BulkCommentResultDTO(int inserted, List<Long> ids, long elapsedMillis, double rowsPerSecond) {
+}
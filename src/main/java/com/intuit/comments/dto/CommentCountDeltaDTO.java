@@ -0,0 +1,9 @@
+package com.intuit.comments.dto;
+
+/**
+ * Change in the counters of a comment since the previous update, sent to
+ * subscribers of the comment's post.
+ */
+public record CommentCountDeltaDTO(Long commentId, long likeDelta, long dislikeDelta, long replyDelta,
+		long descendantDelta) {
+}
@@ -0,0 +1,28 @@
+package com.intuit.comments.dto;
+
+import java.time.LocalDateTime;
+
+import com.intuit.comments.entity.Comment;
+
+/**
+ * Flat view of a comment as returned by the API. Related entities are
+ * referenced by ID only, so reading a reply never pulls in its post, its
+ * author's profile or its parent chain. The reply and descendant counts tell
+ * clients whether there are replies to fetch without asking for them.
+ */
+public record CommentResponseDTO(Long id, Long postId, Long parentId, Long userId, String username,
+		String content, LocalDateTime createdAt, long likeCount, long dislikeCount, int depth, long replyCount,
+		long descendantCount) {
+
+	/**
+	 * Builds the view of a comment given its author's name. Only the IDs of the
+	 * related entities are read, so they may be uninitialized references.
+	 */
+	public static CommentResponseDTO from(Comment comment, String username) {
+		return new CommentResponseDTO(comment.getId(), comment.getPost().getId(),
+				comment.getParent() == null ? null : comment.getParent().getId(), comment.getUser().getId(),
+				username, comment.getContent(), comment.getCreatedAt(),
+				comment.getLikeCount(), comment.getDislikeCount(), comment.getDepth(), comment.getReplyCount(),
+				comment.getDescendantCount());
+	}
+}
@@ -0,0 +1,29 @@
+package com.intuit.comments.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.intuit.comments.repo.projection.CommentThreadRow;
+
+/**
+ * A comment and its replies, nested as returned by the thread endpoint. The
+ * replies are cut by the thread's depth and fan-out limits; the reply count
+ * is the full number, so a client can tell when there are more to fetch.
+ */
+public record CommentThreadDTO(Long id, Long parentId, Long userId, String username, String content,
+		LocalDateTime createdAt, long likeCount, long dislikeCount, int depth, long replyCount,
+		long descendantCount, List<CommentThreadDTO> replies) {
+
+	@JsonProperty("hasMoreReplies")
+	public boolean hasMoreReplies() {
+		return replyCount > replies.size();
+	}
+
+	public static CommentThreadDTO from(CommentThreadRow row) {
+		return new CommentThreadDTO(row.getId(), row.getParentId(), row.getUserId(), row.getUsername(),
+				row.getContent(), row.getCreatedAt(), row.getLikeCount(), row.getDislikeCount(), row.getDepth(),
+				row.getReplyCount(), row.getDescendantCount(), new ArrayList<>());
+	}
+}
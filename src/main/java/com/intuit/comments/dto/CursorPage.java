@@ -0,0 +1,27 @@
+package com.intuit.comments.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is null when
+ * there are no further items.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+
+	/**
+	 * Builds a page from a query that fetched up to {@code size + 1} rows; the
+	 * extra row only signals that another page exists and is not returned.
+	 *
+	 * @param rows      rows fetched with a limit of {@code size + 1}
+	 * @param size      the requested page size
+	 * @param cursorOf  extracts the keyset position of a row
+	 * @return the page with the cursor of its last item
+	 */
+	public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+		boolean hasNext = rows.size() > size;
+		List<T> items = hasNext ? rows.subList(0, size) : rows;
+		String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+		return new CursorPage<>(items, nextCursor, hasNext);
+	}
+}
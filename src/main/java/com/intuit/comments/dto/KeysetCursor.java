@@ -0,0 +1,61 @@
+package com.intuit.comments.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a {@code (created_at DESC, id DESC)} ordered listing. Clients
+ * receive it as an opaque token and pass it back to fetch the next slice.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+	private static final char SEPARATOR = '|';
+
+	/**
+	 * Cursor for a listing whose creation times are {@link Instant}s, which are
+	 * stored in UTC.
+	 */
+	public static KeysetCursor of(Instant createdAt, Long id) {
+		return new KeysetCursor(LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC), id);
+	}
+
+	/**
+	 * Creation time of a cursor built with {@link #of(Instant, Long)}.
+	 */
+	public Instant createdAtInstant() {
+		return createdAt.toInstant(ZoneOffset.UTC);
+	}
+
+	/**
+	 * Encodes this cursor as a URL-safe opaque token.
+	 */
+	public String encode() {
+		String raw = createdAt.toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a token produced by {@link #encode()}.
+	 *
+	 * @param token the opaque cursor token
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the token is malformed
+	 */
+	public static KeysetCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid cursor: " + token);
+			}
+			return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+					Long.valueOf(raw.substring(separator + 1)));
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + token, e);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.intuit.comments.dto;
+
+import java.time.Instant;
+
+/**
+ * Activity summary of a post as ranked by the activity leaderboard.
+ * {@code latestCommentAt} is null for posts without comments.
+ */
+public record PostActivityDTO(Long postId, Long userId, String title, Instant createdAt, long reactionCount,
+		long commentCount, Instant latestCommentAt) {
+}
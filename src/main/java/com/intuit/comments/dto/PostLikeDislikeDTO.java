@@ -0,0 +1,17 @@
+package com.intuit.comments.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PostLikeDislikeDTO {
+
+	@NotNull(message = "Post ID cannot be null")
+	private Long postId;
+
+	@NotNull(message = "User ID cannot be null")
+	private Long userId;
+
+	@NotNull(message = "isLike cannot be null")
+	private Boolean isLike; // true for like, false for dislike
+}
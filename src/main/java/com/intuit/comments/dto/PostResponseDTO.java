@@ -0,0 +1,27 @@
+package com.intuit.comments.dto;
+
+import java.time.Instant;
+
+import com.intuit.comments.entity.Post;
+import com.intuit.comments.repo.projection.PostRow;
+
+/**
+ * Flat view of a post as returned by the API, with the author referenced by ID
+ * and name only.
+ */
+public record PostResponseDTO(Long id, Long userId, String username, String title, String content,
+		Instant createdAt, long likeCount, long dislikeCount) {
+
+	/**
+	 * Builds the view of a post whose user has already been loaded.
+	 */
+	public static PostResponseDTO from(Post post) {
+		return new PostResponseDTO(post.getId(), post.getUser().getId(), post.getUser().getUsername(),
+				post.getTitle(), post.getContent(), post.getCreatedAt(), post.getLikeCount(), post.getDislikeCount());
+	}
+
+	public static PostResponseDTO from(PostRow row) {
+		return new PostResponseDTO(row.getId(), row.getUserId(), row.getUsername(), row.getTitle(),
+				row.getContent(), row.getCreatedAt(), row.getLikeCount(), row.getDislikeCount());
+	}
+}
@@ -0,0 +1,10 @@
+package com.intuit.comments.dto;
+
+import com.intuit.comments.entity.ReactionType;
+
+/**
+ * Outcome of a reaction write. {@code changed} is false when the user already
+ * held the requested reaction and nothing was written.
+ */
+public record ReactionResultDTO(Long targetId, Long userId, ReactionType type, boolean changed) {
+}
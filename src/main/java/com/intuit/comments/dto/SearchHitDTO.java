@@ -0,0 +1,12 @@
+package com.intuit.comments.dto;
+
+import java.time.Instant;
+
+/**
+ * A comment or post matched by a search, built from the search index alone.
+ * {@code title} is only set for posts, {@code postId} is the post itself for
+ * a post hit, and {@code score} is the relevance of the match.
+ */
+public record SearchHitDTO(String type, Long id, Long postId, Long parentId, Long userId, String username,
+		String title, String snippet, Instant createdAt, float score) {
+}
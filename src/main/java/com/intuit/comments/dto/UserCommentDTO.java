@@ -0,0 +1,15 @@
+package com.intuit.comments.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry in a user's comment history: where the comment was made, the start of
+ * its content and its counters. The full comment is read from the post or
+ * thread endpoints when opened.
+ */
+public record UserCommentDTO(Long id, Long postId, Long parentId, String snippet, LocalDateTime createdAt,
+		long likeCount, long dislikeCount, long replyCount) {
+
+	/** Number of characters of the content returned as the snippet. */
+	public static final int SNIPPET_LENGTH = 140;
+}
@@ -1,14 +1,20 @@
 package com.intuit.comments.entity;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.intuit.comments.ranking.HotScore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -16,19 +22,21 @@ import lombok.Data;
 @Table(name = "comments")
 @Data
 public class Comment {
+	// Pooled sequence IDs let Hibernate batch inserts, which IDENTITY columns prevent
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+	@SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
 	private Long id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "post_id", nullable = false)
 	private Post post;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "parent_id")
 	private Comment parent;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	private User user;
 
@@ -37,4 +45,40 @@ public class Comment {
 
 	@Column(name = "created_at", nullable = false)
 	private LocalDateTime createdAt = LocalDateTime.now();
+
+	// Materialized path of the reply chain, derived from the parent on insert
+	@Column(nullable = false, updatable = false)
+	private int depth;
+
+	@Column(nullable = false, updatable = false)
+	private String path = "";
+
+	// Counters are only changed in place, see ActivityCounterRepository
+	@Column(name = "like_count", nullable = false, updatable = false)
+	private long likeCount;
+
+	@Column(name = "dislike_count", nullable = false, updatable = false)
+	private long dislikeCount;
+
+	@Column(name = "net_likes", nullable = false, updatable = false)
+	private long netLikes;
+
+	@Column(name = "reply_count", nullable = false, updatable = false)
+	private long replyCount;
+
+	@Column(name = "descendant_count", nullable = false, updatable = false)
+	private long descendantCount;
+
+	@Column(name = "rank_score", nullable = false, updatable = false)
+	private long rankScore;
+
+	// Initialized on insert, then only grown by ActivityCounterRepository, see HotScore
+	@Column(name = "hot_score", nullable = false, updatable = false)
+	private double hotScore;
+
+	@PrePersist
+	void initHotScore() {
+		// createdAt is in the JVM's time zone; Hibernate converts it to UTC on write
+		hotScore = HotScore.at(createdAt.atZone(ZoneId.systemDefault()).toInstant());
+	}
 }
@@ -2,13 +2,17 @@ package com.intuit.comments.entity;
 
 import java.time.Instant;
 
+import com.intuit.comments.ranking.HotScore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -20,7 +24,7 @@ public class Post {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	private User user;
 
@@ -29,4 +33,20 @@ public class Post {
 
 	@Column(name = "created_at", nullable = false)
 	private Instant createdAt = Instant.now();
+
+	// Counters are only changed in place, see ActivityCounterRepository
+	@Column(name = "like_count", nullable = false, updatable = false)
+	private long likeCount;
+
+	@Column(name = "dislike_count", nullable = false, updatable = false)
+	private long dislikeCount;
+
+	// Initialized on insert, then only grown by ActivityCounterRepository, see HotScore
+	@Column(name = "hot_score", nullable = false, updatable = false)
+	private double hotScore;
+
+	@PrePersist
+	void initHotScore() {
+		hotScore = HotScore.at(createdAt);
+	}
 }
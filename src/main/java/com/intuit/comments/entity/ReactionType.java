@@ -0,0 +1,32 @@
+package com.intuit.comments.entity;
+
+/**
+ * Type of a reaction a user can leave on a post or a comment. The database
+ * stores the lower-case value of the {@code reaction_type} enum.
+ */
+public enum ReactionType {
+	LIKE("like"), DISLIKE("dislike");
+
+	private final String dbValue;
+
+	ReactionType(String dbValue) {
+		this.dbValue = dbValue;
+	}
+
+	public String getDbValue() {
+		return dbValue;
+	}
+
+	public static ReactionType fromDbValue(String dbValue) {
+		for (ReactionType type : values()) {
+			if (type.dbValue.equalsIgnoreCase(dbValue)) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unknown reaction type: " + dbValue);
+	}
+
+	public static ReactionType of(boolean isLike) {
+		return isLike ? LIKE : DISLIKE;
+	}
+}
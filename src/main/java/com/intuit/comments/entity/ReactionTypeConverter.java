@@ -0,0 +1,22 @@
+package com.intuit.comments.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link ReactionType} to the lower-case values of the
+ * {@code reaction_type} database enum.
+ */
+@Converter(autoApply = true)
+public class ReactionTypeConverter implements AttributeConverter<ReactionType, String> {
+
+	@Override
+	public String convertToDatabaseColumn(ReactionType attribute) {
+		return attribute == null ? null : attribute.getDbValue();
+	}
+
+	@Override
+	public ReactionType convertToEntityAttribute(String dbData) {
+		return dbData == null ? null : ReactionType.fromDbValue(dbData);
+	}
+}
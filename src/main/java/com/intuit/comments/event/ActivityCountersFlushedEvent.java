@@ -0,0 +1,21 @@
+package com.intuit.comments.event;
+
+import java.util.Map;
+
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+
+/**
+ * Published after a batch of buffered activity (reaction counter changes and
+ * new comments) has been written to the database.
+ *
+ * @param comments counter deltas applied to comments, keyed by comment and post
+ * @param posts    counter deltas applied to posts, keyed by post ID
+ */
+public record ActivityCountersFlushedEvent(Map<CommentTarget, Delta> comments, Map<Long, Delta> posts) {
+
+	/**
+	 * A comment together with the post it belongs to.
+	 */
+	public record CommentTarget(Long commentId, Long postId) {
+	}
+}
@@ -0,0 +1,23 @@
+package com.intuit.comments.event;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+
+/**
+ * Published when a comment has been inserted. Listeners that act on committed
+ * data should use {@code @TransactionalEventListener}. {@code createdAt} is the
+ * instant the comment was created, for listeners that compare it with times
+ * read from the database.
+ */
+public record CommentAddedEvent(CommentResponseDTO comment, Instant createdAt) {
+
+	/**
+	 * Builds the event of a comment created on this JVM, whose creation time is
+	 * in the JVM's time zone.
+	 */
+	public static CommentAddedEvent of(CommentResponseDTO comment) {
+		return new CommentAddedEvent(comment, comment.createdAt().atZone(ZoneId.systemDefault()).toInstant());
+	}
+}
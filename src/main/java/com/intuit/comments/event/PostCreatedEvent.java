@@ -0,0 +1,10 @@
+package com.intuit.comments.event;
+
+import com.intuit.comments.dto.PostResponseDTO;
+
+/**
+ * Published when a post has been inserted. Listeners that act on committed
+ * data should use {@code @TransactionalEventListener}.
+ */
+public record PostCreatedEvent(PostResponseDTO post) {
+}
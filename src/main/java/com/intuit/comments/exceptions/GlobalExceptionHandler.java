@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
 
 /**
  * Centralized exception handling for the application, intercepting uncaught
@@ -75,6 +76,19 @@ public class GlobalExceptionHandler {
     }
     
     
+    /**
+     * Handles ConstraintViolationException, which occurs when a request parameter fails its
+     * constraint annotations, such as a page size outside the allowed range.
+     *
+     * @param ex the ConstraintViolationException describing the violated constraints
+     * @return ResponseEntity with the violation messages and HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+
     /**
      * Handles EntityNotFoundException, which occurs when the requested entity is not found.
      *
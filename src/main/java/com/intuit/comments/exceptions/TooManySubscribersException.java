@@ -0,0 +1,11 @@
+package com.intuit.comments.exceptions;
+
+public class TooManySubscribersException extends RuntimeException {
+
+	private static final long serialVersionUID = -6032158847416870419L;
+
+	public TooManySubscribersException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.intuit.comments.exceptions;
+
+public class WriteQueueFullException extends RuntimeException {
+
+	private static final long serialVersionUID = 3141705127366158202L;
+
+	public WriteQueueFullException(String message) {
+		super(message);
+	}
+
+}
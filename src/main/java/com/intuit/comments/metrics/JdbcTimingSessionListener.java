@@ -0,0 +1,42 @@
+package com.intuit.comments.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends executing JDBC statements and batches to the
+ * {@link RequestQueryProfile} open on the current thread. Hibernate creates one
+ * instance per session.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private long startNanos;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		startNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		record();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		startNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		record();
+	}
+
+	private void record() {
+		RequestQueryProfile profile = RequestQueryProfile.current();
+		if (profile != null) {
+			profile.recordJdbcTime(System.nanoTime() - startNanos);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.intuit.comments.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires per-request Hibernate statement profiling into the session factory and
+ * the {@code /api} handler chain. Endpoint latencies
+ * ({@code http.server.requests}) and repository query latencies
+ * ({@code spring.data.repository.invocations}) are instrumented by Spring Boot;
+ * their percentiles are configured in {@code application.properties}.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private SlowRequestLog slowRequestLog;
+
+	@Bean
+	HibernatePropertiesCustomizer statementProfilingCustomizer() {
+		return properties -> {
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+			properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+		};
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new StatementMetricsInterceptor(meterRegistry, slowRequestLog)).addPathPatterns("/api/**");
+	}
+}
@@ -0,0 +1,106 @@
+package com.intuit.comments.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements and JDBC time accumulated by Hibernate on the current thread
+ * while an HTTP request is being handled. Statements are grouped by shape: the
+ * SQL with whitespace collapsed and {@code IN} lists of any length folded into
+ * one, so the same query issued once per row shows up as one shape with a
+ * high count.
+ */
+public final class RequestQueryProfile {
+
+	private static final ThreadLocal<RequestQueryProfile> CURRENT = new ThreadLocal<>();
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\?(\\s*,\\s*\\?)*\\)");
+
+	private static final int MAX_SHAPE_LENGTH = 300;
+
+	private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+	private int statements;
+
+	private long jdbcNanos;
+
+	private RequestQueryProfile() {
+	}
+
+	/**
+	 * Starts profiling the current thread, discarding any open profile.
+	 */
+	public static void begin() {
+		CURRENT.set(new RequestQueryProfile());
+	}
+
+	/**
+	 * Continues profiling on the current thread into a profile ended on another
+	 * thread, such as the first half of an asynchronous request.
+	 *
+	 * @param profile the profile to continue
+	 */
+	public static void resume(RequestQueryProfile profile) {
+		CURRENT.set(profile);
+	}
+
+	/**
+	 * Returns the profile open on the current thread.
+	 *
+	 * @return the open profile, or {@code null} outside a profiled request
+	 */
+	public static RequestQueryProfile current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Stops profiling the current thread.
+	 *
+	 * @return the closed profile, or {@code null} if none was open
+	 */
+	public static RequestQueryProfile end() {
+		RequestQueryProfile profile = CURRENT.get();
+		CURRENT.remove();
+		return profile;
+	}
+
+	void recordStatement(String sql) {
+		statements++;
+		shapes.merge(shapeOf(sql), 1, Integer::sum);
+	}
+
+	void recordJdbcTime(long nanos) {
+		jdbcNanos += nanos;
+	}
+
+	public int statements() {
+		return statements;
+	}
+
+	public long jdbcNanos() {
+		return jdbcNanos;
+	}
+
+	/**
+	 * @return the number of times each statement shape was prepared, in order
+	 *         of first use
+	 */
+	public Map<String, Integer> shapes() {
+		return shapes;
+	}
+
+	/**
+	 * @return the highest number of times any single shape was prepared
+	 */
+	public int maxRepeats() {
+		return shapes.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+	}
+
+	static String shapeOf(String sql) {
+		String shape = IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("in (?, ...)");
+		return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+	}
+}
@@ -0,0 +1,128 @@
+package com.intuit.comments.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the most recent requests whose {@link RequestQueryProfile} crossed one
+ * of the configured thresholds: too many statements, too much JDBC time, or one
+ * statement shape repeated often enough to suggest an N+1 pattern. Flagged
+ * requests are logged, counted as {@value #METRIC_NAME} by endpoint and
+ * reason, and listed on the {@code slowrequests} actuator endpoint.
+ */
+@Component
+public class SlowRequestLog {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowRequestLog.class);
+
+	static final String METRIC_NAME = "hibernate.flagged.requests";
+
+	public enum Reason {
+		STATEMENT_COUNT, JDBC_TIME, REPEATED_STATEMENT
+	}
+
+	public record Thresholds(int maxStatements, Duration maxJdbcTime, int maxRepeats) {
+	}
+
+	public record SlowRequest(Instant at, String method, String uri, String path, int status, int statements,
+			double jdbcMillis, Set<Reason> reasons, Map<String, Integer> statementShapes) {
+	}
+
+	private final Thresholds thresholds;
+	private final int historySize;
+	private final MeterRegistry meterRegistry;
+	private final Deque<SlowRequest> recent = new ArrayDeque<>();
+
+	public SlowRequestLog(MeterRegistry meterRegistry,
+			@Value("${comments.query-profile.max-statements:20}") int maxStatements,
+			@Value("${comments.query-profile.max-jdbc-time:200ms}") Duration maxJdbcTime,
+			@Value("${comments.query-profile.max-repeated-statements:5}") int maxRepeats,
+			@Value("${comments.query-profile.history-size:100}") int historySize) {
+		this.meterRegistry = meterRegistry;
+		this.thresholds = new Thresholds(maxStatements, maxJdbcTime, maxRepeats);
+		this.historySize = historySize;
+	}
+
+	/**
+	 * Checks a finished request against the thresholds and keeps it if any is
+	 * exceeded.
+	 *
+	 * @param method  the HTTP method
+	 * @param uri     the matched URI template
+	 * @param path    the request path as sent
+	 * @param status  the response status
+	 * @param profile the statements the request issued
+	 */
+	public void inspect(String method, String uri, String path, int status, RequestQueryProfile profile) {
+		Set<Reason> reasons = EnumSet.noneOf(Reason.class);
+		if (profile.statements() > thresholds.maxStatements()) {
+			reasons.add(Reason.STATEMENT_COUNT);
+		}
+		if (profile.jdbcNanos() > thresholds.maxJdbcTime().toNanos()) {
+			reasons.add(Reason.JDBC_TIME);
+		}
+		if (profile.maxRepeats() > thresholds.maxRepeats()) {
+			reasons.add(Reason.REPEATED_STATEMENT);
+		}
+		if (reasons.isEmpty()) {
+			return;
+		}
+
+		SlowRequest request = new SlowRequest(Instant.now(), method, uri, path, status, profile.statements(),
+				profile.jdbcNanos() / 1_000_000.0, reasons,
+				Collections.unmodifiableMap(new LinkedHashMap<>(profile.shapes())));
+		synchronized (recent) {
+			if (recent.size() == historySize) {
+				recent.removeLast();
+			}
+			recent.addFirst(request);
+		}
+		for (Reason reason : reasons) {
+			Counter.builder(METRIC_NAME)
+					.description("Requests exceeding the statement count, JDBC time or repeated statement thresholds")
+					.tag("method", method)
+					.tag("uri", uri)
+					.tag("reason", reason.name())
+					.register(meterRegistry)
+					.increment();
+		}
+		logger.warn("{} {} issued {} statements in {} ms of JDBC time, flagged for {}", method, path,
+				profile.statements(), String.format("%.1f", request.jdbcMillis()), reasons);
+	}
+
+	public Thresholds thresholds() {
+		return thresholds;
+	}
+
+	/**
+	 * @return the flagged requests, most recent first
+	 */
+	public List<SlowRequest> recent() {
+		synchronized (recent) {
+			return new ArrayList<>(recent);
+		}
+	}
+
+	public void clear() {
+		synchronized (recent) {
+			recent.clear();
+		}
+	}
+}
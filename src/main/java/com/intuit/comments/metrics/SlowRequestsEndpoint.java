@@ -0,0 +1,38 @@
+package com.intuit.comments.metrics;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.intuit.comments.metrics.SlowRequestLog.SlowRequest;
+import com.intuit.comments.metrics.SlowRequestLog.Thresholds;
+
+/**
+ * Lists the requests recently flagged by {@link SlowRequestLog} at
+ * {@code /actuator/slowrequests}, with the statement shapes each one issued.
+ * A {@code DELETE} clears the list.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+	public record SlowRequestsReport(Thresholds thresholds, List<SlowRequest> requests) {
+	}
+
+	@Autowired
+	private SlowRequestLog slowRequestLog;
+
+	@ReadOperation
+	public SlowRequestsReport slowRequests() {
+		return new SlowRequestsReport(slowRequestLog.thresholds(), slowRequestLog.recent());
+	}
+
+	@DeleteOperation
+	public void clear() {
+		slowRequestLog.clear();
+	}
+}
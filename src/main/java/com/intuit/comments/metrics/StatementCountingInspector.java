@@ -0,0 +1,23 @@
+package com.intuit.comments.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records each SQL statement Hibernate prepares into the
+ * {@link RequestQueryProfile} open on the current thread. Statements issued
+ * outside a profiled request, e.g. by scheduled flushes, are not recorded. The
+ * SQL itself is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		RequestQueryProfile profile = RequestQueryProfile.current();
+		if (profile != null) {
+			profile.recordStatement(sql);
+		}
+		return sql;
+	}
+}
@@ -0,0 +1,87 @@
+package com.intuit.comments.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Profiles the Hibernate statements each request issues. The statement count
+ * is recorded as the {@value #METRIC_NAME} distribution and the JDBC time as
+ * the {@value #JDBC_TIME_METRIC_NAME} timer, both tagged with the request
+ * method and URI template so they line up with {@code http.server.requests}.
+ * The profile is then handed to the {@link SlowRequestLog}.
+ * <p>
+ * When a handler starts asynchronous processing, the profile is taken off the
+ * request thread and parked on the request, then picked up again by the
+ * dispatch that completes it, so the thread is returned to the pool clean.
+ */
+public class StatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+	static final String METRIC_NAME = "hibernate.statements.per.request";
+
+	static final String JDBC_TIME_METRIC_NAME = "hibernate.jdbc.time.per.request";
+
+	private static final String SUSPENDED_PROFILE_ATTRIBUTE = StatementMetricsInterceptor.class.getName()
+			+ ".suspendedProfile";
+
+	private final MeterRegistry meterRegistry;
+
+	private final SlowRequestLog slowRequestLog;
+
+	public StatementMetricsInterceptor(MeterRegistry meterRegistry, SlowRequestLog slowRequestLog) {
+		this.meterRegistry = meterRegistry;
+		this.slowRequestLog = slowRequestLog;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getAttribute(SUSPENDED_PROFILE_ATTRIBUTE) instanceof RequestQueryProfile suspended) {
+			request.removeAttribute(SUSPENDED_PROFILE_ATTRIBUTE);
+			RequestQueryProfile.resume(suspended);
+		} else {
+			RequestQueryProfile.begin();
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		RequestQueryProfile profile = RequestQueryProfile.end();
+		if (profile != null) {
+			request.setAttribute(SUSPENDED_PROFILE_ATTRIBUTE, profile);
+		}
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		RequestQueryProfile profile = RequestQueryProfile.end();
+		if (profile == null) {
+			return;
+		}
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+		DistributionSummary.builder(METRIC_NAME)
+				.description("Hibernate statements prepared per HTTP request")
+				.baseUnit("statements")
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.register(meterRegistry)
+				.record(profile.statements());
+		Timer.builder(JDBC_TIME_METRIC_NAME)
+				.description("Time spent executing Hibernate JDBC statements per HTTP request")
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.register(meterRegistry)
+				.record(profile.jdbcNanos(), TimeUnit.NANOSECONDS);
+		slowRequestLog.inspect(request.getMethod(), uri, request.getRequestURI(), response.getStatus(), profile);
+	}
+}
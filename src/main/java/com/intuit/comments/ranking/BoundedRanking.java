@@ -0,0 +1,113 @@
+package com.intuit.comments.ranking;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Top-K ranking that holds at most {@code capacity} entries ordered by a
+ * comparator. Entries falling off the end are dropped, so memory and the cost
+ * of an update stay bounded no matter how many items are ranked.
+ * <p>
+ * Reads are lock-free. Writes are serialized, which keeps the ID index and the
+ * ordered set consistent. Entries offered while a replacement is being read
+ * are applied again on top of it, since the replacement may predate them.
+ *
+ * @param <T> the ranked entry type
+ */
+class BoundedRanking<T> {
+
+	private final int capacity;
+	private final Comparator<T> order;
+	private final Function<T, Long> idOf;
+	private final ToLongFunction<T> scoreOf;
+	private Map<Long, T> byId = new HashMap<>();
+	private volatile NavigableSet<T> ranking;
+	// Latest entry offered per ID while a replacement is read, null otherwise
+	private Map<Long, T> offeredDuringReplace;
+	private final Object replaceLock = new Object();
+
+	/**
+	 * @param capacity maximum number of entries held
+	 * @param order    ranking order, best first; must be consistent with the IDs
+	 * @param idOf     identity of an entry
+	 * @param scoreOf  entries with a score of zero or less are not ranked
+	 */
+	BoundedRanking(int capacity, Comparator<T> order, Function<T, Long> idOf, ToLongFunction<T> scoreOf) {
+		this.capacity = capacity;
+		this.order = order;
+		this.idOf = idOf;
+		this.scoreOf = scoreOf;
+		this.ranking = new ConcurrentSkipListSet<>(order);
+	}
+
+	List<T> top(int limit) {
+		return ranking.stream().limit(limit).toList();
+	}
+
+	/**
+	 * Adds an entry or replaces the tracked entry with the same ID, then drops
+	 * whatever no longer fits.
+	 */
+	synchronized void offer(T entry) {
+		if (offeredDuringReplace != null) {
+			offeredDuringReplace.put(idOf.apply(entry), entry);
+		}
+		offer(entry, byId, ranking);
+	}
+
+	/**
+	 * Replaces all entries, e.g. with a fresh top-K read from the database.
+	 * Offers keep being applied while the entries are read, and are applied
+	 * again to the replacement. Readers see either the old or the new ranking,
+	 * never a partial one.
+	 *
+	 * @param read reads the replacement entries
+	 */
+	void replaceAll(Supplier<List<T>> read) {
+		synchronized (replaceLock) {
+			synchronized (this) {
+				offeredDuringReplace = new HashMap<>();
+			}
+			try {
+				List<T> entries = read.get();
+				synchronized (this) {
+					Map<Long, T> freshById = new HashMap<>();
+					NavigableSet<T> fresh = new ConcurrentSkipListSet<>(order);
+					entries.forEach(entry -> offer(entry, freshById, fresh));
+					offeredDuringReplace.values().forEach(entry -> offer(entry, freshById, fresh));
+					byId = freshById;
+					ranking = fresh;
+				}
+			} finally {
+				synchronized (this) {
+					offeredDuringReplace = null;
+				}
+			}
+		}
+	}
+
+	private void offer(T entry, Map<Long, T> byId, NavigableSet<T> ranking) {
+		T previous = byId.remove(idOf.apply(entry));
+		if (previous != null) {
+			ranking.remove(previous);
+		}
+		if (scoreOf.applyAsLong(entry) <= 0) {
+			return;
+		}
+		if (ranking.size() >= capacity && order.compare(entry, ranking.last()) > 0) {
+			return;
+		}
+		byId.put(idOf.apply(entry), entry);
+		ranking.add(entry);
+		while (ranking.size() > capacity) {
+			byId.remove(idOf.apply(ranking.pollLast()));
+		}
+	}
+}
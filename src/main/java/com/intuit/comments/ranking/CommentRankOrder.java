@@ -0,0 +1,45 @@
+package com.intuit.comments.ranking;
+
+/**
+ * Orderings offered by the top comments and top replies endpoints. Each is
+ * read from a materialized column on {@code comments} through a
+ * {@code (post_id, column)} or {@code (parent_id, column)} index.
+ */
+public enum CommentRankOrder {
+	/** Likes minus dislikes, {@code net_likes}. */
+	LIKES("likes"),
+	/** Direct replies, {@code reply_count}. */
+	REPLIES("replies"),
+	/**
+	 * Net likes plus {@link HotScore#COMMENT_WEIGHT} per direct reply,
+	 * {@code rank_score}. Unlike the hot score it does not decay.
+	 */
+	SCORE("score");
+
+	private final String param;
+
+	CommentRankOrder(String param) {
+		this.param = param;
+	}
+
+	public String getParam() {
+		return param;
+	}
+
+	/**
+	 * Change in the combined score for the given change in net likes and
+	 * replies.
+	 */
+	public static long scoreIncrement(long netLikes, long replies) {
+		return netLikes + HotScore.COMMENT_WEIGHT * replies;
+	}
+
+	public static CommentRankOrder fromParam(String param) {
+		for (CommentRankOrder order : values()) {
+			if (order.param.equalsIgnoreCase(param)) {
+				return order;
+			}
+		}
+		throw new IllegalArgumentException("Unknown ranking: " + param);
+	}
+}
@@ -0,0 +1,108 @@
+package com.intuit.comments.ranking;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.event.ActivityCountersFlushedEvent;
+import com.intuit.comments.repo.CommentRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Global rankings of the most liked and most disliked comments, kept in
+ * bounded in-memory top-K structures. They are updated from each batch of
+ * flushed reaction counters and rebuilt from the indexed counter columns on
+ * startup and periodically, so reading them never aggregates reactions.
+ * <p>
+ * Each ranking tracks twice the number of comments it serves. The slack lets
+ * a tracked comment that loses reactions drop a few places without an
+ * untracked comment being missed in the served window; the periodic rebuild
+ * corrects anything beyond that.
+ */
+@Component
+public class CommentReactionLeaderboard {
+
+	private static final Logger logger = LoggerFactory.getLogger(CommentReactionLeaderboard.class);
+
+	private static final Comparator<CommentResponseDTO> MOST_LIKED = Comparator
+			.comparingLong(CommentResponseDTO::likeCount).reversed()
+			.thenComparing(CommentResponseDTO::id, Comparator.reverseOrder());
+
+	private static final Comparator<CommentResponseDTO> MOST_DISLIKED = Comparator
+			.comparingLong(CommentResponseDTO::dislikeCount).reversed()
+			.thenComparing(CommentResponseDTO::id, Comparator.reverseOrder());
+
+	@Value("${comments.leaderboard.top-comments-size:100}")
+	int size;
+
+	@Autowired
+	CommentRepository commentRepository;
+
+	private BoundedRanking<CommentResponseDTO> mostLiked;
+	private BoundedRanking<CommentResponseDTO> mostDisliked;
+
+	@PostConstruct
+	void init() {
+		mostLiked = new BoundedRanking<>(2 * size, MOST_LIKED, CommentResponseDTO::id, CommentResponseDTO::likeCount);
+		mostDisliked = new BoundedRanking<>(2 * size, MOST_DISLIKED, CommentResponseDTO::id,
+				CommentResponseDTO::dislikeCount);
+	}
+
+	/**
+	 * @return the maximum number of comments served per ranking
+	 */
+	public int size() {
+		return size;
+	}
+
+	public List<CommentResponseDTO> mostLiked(int limit) {
+		return mostLiked.top(Math.min(limit, size));
+	}
+
+	public List<CommentResponseDTO> mostDisliked(int limit) {
+		return mostDisliked.top(Math.min(limit, size));
+	}
+
+	/**
+	 * Reloads both rankings from the {@code like_count} and
+	 * {@code dislike_count} indexes, correcting any drift. Comments re-ranked by
+	 * a flush while the indexes are read keep their flushed totals.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${comments.leaderboard.reconcile-interval-ms:300000}", fixedDelayString = "${comments.leaderboard.reconcile-interval-ms:300000}")
+	public void rebuild() {
+		mostLiked.replaceAll(() -> commentRepository.findMostLiked(PageRequest.ofSize(2 * size)));
+		mostDisliked.replaceAll(() -> commentRepository.findMostDisliked(PageRequest.ofSize(2 * size)));
+		logger.info("Rebuilt comment reaction leaderboards");
+	}
+
+	/**
+	 * Re-ranks the comments whose reaction counters were just flushed, reading
+	 * their current totals with a single query.
+	 */
+	@EventListener
+	public void onActivityCountersFlushed(ActivityCountersFlushedEvent event) {
+		List<Long> commentIds = event.comments().entrySet().stream()
+				.filter(e -> e.getValue().likes() != 0 || e.getValue().dislikes() != 0)
+				.map(e -> e.getKey().commentId())
+				.toList();
+		if (commentIds.isEmpty()) {
+			return;
+		}
+		for (CommentResponseDTO comment : commentRepository.findResponsesByIdIn(commentIds)) {
+			mostLiked.offer(comment);
+			mostDisliked.offer(comment);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.intuit.comments.ranking;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Time-decayed "hot" score shared by comments and posts.
+ * <p>
+ * Every unit of activity (the item being created, a like, a reply) contributes
+ * {@code e^(λ·t)}, where {@code t} is the time of the activity since a fixed
+ * epoch, and the score is the natural log of the sum. Ranking by this score is
+ * the same as ranking by activity decayed with a half-life of
+ * {@value #HALF_LIFE_HOURS} hours, but unlike a gravity formula evaluated at
+ * read time the stored value never changes as time passes. It only grows when
+ * new activity is added, so it can be maintained with in-place updates and
+ * served from an index.
+ * <p>
+ * The constants are mirrored by the backfill in {@code data.sql}.
+ */
+public final class HotScore {
+
+	public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+	public static final int HALF_LIFE_HOURS = 12;
+
+	/** Weight of a comment or reply relative to a like. */
+	public static final long COMMENT_WEIGHT = 2;
+
+	/** Increment that leaves a score unchanged, {@code e^NONE} being zero. */
+	public static final double NONE = -Double.MAX_VALUE;
+
+	private static final double DECAY_PER_SECOND = Math.log(2) / Duration.ofHours(HALF_LIFE_HOURS).toSeconds();
+
+	private HotScore() {
+	}
+
+	/**
+	 * Score of a single unit of activity at the given time, which is also the
+	 * initial score of an item created at that time.
+	 */
+	public static double at(Instant time) {
+		return DECAY_PER_SECOND * Duration.between(EPOCH, time).toSeconds();
+	}
+
+	/**
+	 * Score of a single unit of activity at a date-time as stored in the
+	 * database, which keeps timestamps in UTC.
+	 */
+	public static double at(LocalDateTime utcTime) {
+		return at(utcTime.toInstant(ZoneOffset.UTC));
+	}
+
+	/**
+	 * Increment for {@code likes} likes and {@code comments} comments happening
+	 * at the given time. Scores and increments combine as
+	 * {@code ln(e^score + e^increment)}, see {@code ActivityCounterRepository}.
+	 * Dislikes and retracted likes do not add heat, so non-positive totals
+	 * yield {@link #NONE}.
+	 */
+	public static double increment(Instant time, long likes, long comments) {
+		long weight = Math.max(likes, 0) + COMMENT_WEIGHT * Math.max(comments, 0);
+		return weight > 0 ? at(time) + Math.log(weight) : NONE;
+	}
+}
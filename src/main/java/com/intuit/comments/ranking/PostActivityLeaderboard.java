@@ -0,0 +1,161 @@
+package com.intuit.comments.ranking;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.intuit.comments.dto.PostActivityDTO;
+import com.intuit.comments.dto.PostResponseDTO;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.event.PostCreatedEvent;
+import com.intuit.comments.event.ActivityCountersFlushedEvent;
+import com.intuit.comments.repo.PostRepository;
+import com.intuit.comments.repo.projection.PostActivityRow;
+
+/**
+ * In-memory ranking of posts by activity: total reactions, then latest comment
+ * time, then post creation time, all descending. It is updated incrementally
+ * from write events and reconciled against the database periodically, so
+ * reading the top N never touches the database.
+ * <p>
+ * A reconcile leaves alone the posts that received an event while it read
+ * the database, since the rows it read may predate those events; they are
+ * reconciled on the next run. Events are applied once their write has
+ * committed, so a write that commits just before the read but whose event
+ * arrives after the post was reconciled is counted twice until the next
+ * reconcile.
+ */
+@Component
+public class PostActivityLeaderboard {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostActivityLeaderboard.class);
+
+	/** Deepest rank that can be paged to; reading a window walks the ranking from the top. */
+	static final int MAX_RANK = 1000;
+
+	static final Comparator<PostActivityDTO> RANKING = Comparator
+			.comparingLong(PostActivityDTO::reactionCount).reversed()
+			.thenComparing(PostActivityDTO::latestCommentAt, Comparator.nullsLast(Comparator.reverseOrder()))
+			.thenComparing(PostActivityDTO::createdAt, Comparator.reverseOrder())
+			.thenComparing(PostActivityDTO::postId, Comparator.reverseOrder());
+
+	private final Map<Long, PostActivityDTO> byPost = new ConcurrentHashMap<>();
+	private final NavigableSet<PostActivityDTO> ranking = new ConcurrentSkipListSet<>(RANKING);
+	// Number of events applied per post, only changed under the post's entry in byPost
+	private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+	@Autowired
+	PostRepository postRepository;
+
+	/**
+	 * Returns a window of the ranking.
+	 *
+	 * @param offset the number of top posts to skip
+	 * @param limit  the maximum number of posts to return
+	 * @return the posts at ranks {@code offset} to {@code offset + limit - 1},
+	 *         without those past {@link #MAX_RANK}
+	 */
+	public List<PostActivityDTO> top(int offset, int limit) {
+		if (offset >= MAX_RANK) {
+			return List.of();
+		}
+		return ranking.stream().skip(offset).limit(Math.min(limit, MAX_RANK - offset)).toList();
+	}
+
+	/**
+	 * Reloads the totals of every post from the database, correcting any drift
+	 * from missed or reordered events.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${comments.leaderboard.reconcile-interval-ms:300000}", fixedDelayString = "${comments.leaderboard.reconcile-interval-ms:300000}")
+	public void reconcile() {
+		Map<Long, Long> seen = Map.copyOf(versions);
+		List<PostActivityRow> rows = postRepository.findPostActivity();
+		int skipped = 0;
+		for (PostActivityRow row : rows) {
+			PostActivityDTO activity = new PostActivityDTO(row.getId(), row.getUserId(), row.getTitle(),
+					row.getCreatedAt(), row.getReactionCount(), row.getCommentCount(), row.getLatestCommentAt());
+			if (!replaceIfUnchanged(row.getId(), seen.get(row.getId()), activity)) {
+				skipped++;
+			}
+		}
+		logger.info("Reconciled activity leaderboard with {} posts, {} changed meanwhile and left for the next run",
+				rows.size() - skipped, skipped);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostCreated(PostCreatedEvent event) {
+		PostResponseDTO post = event.post();
+		update(post.id(), current -> current != null ? current
+				: new PostActivityDTO(post.id(), post.userId(), post.title(), post.createdAt(), 0, 0, null));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentAdded(CommentAddedEvent event) {
+		update(event.comment().postId(), current -> current == null ? null
+				: new PostActivityDTO(current.postId(), current.userId(), current.title(), current.createdAt(),
+						current.reactionCount(), current.commentCount() + 1,
+						latest(current.latestCommentAt(), event.createdAt())));
+	}
+
+	@EventListener
+	public void onActivityCountersFlushed(ActivityCountersFlushedEvent event) {
+		event.posts().forEach((postId, delta) -> update(postId, current -> current == null ? null
+				: new PostActivityDTO(current.postId(), current.userId(), current.title(), current.createdAt(),
+						current.reactionCount() + delta.likes() + delta.dislikes(), current.commentCount(),
+						current.latestCommentAt())));
+	}
+
+	/**
+	 * Applies an event to the entry of a post. Updates of the same post are
+	 * serialized by the map, which keeps the map, the versions and the ranked
+	 * set consistent.
+	 */
+	private void update(Long postId, UnaryOperator<PostActivityDTO> change) {
+		byPost.compute(postId, (id, current) -> {
+			versions.merge(id, 1L, Long::sum);
+			return replace(current, change.apply(current));
+		});
+	}
+
+	/**
+	 * Replaces the entry of a post with reconciled totals, unless an event was
+	 * applied to it since its version was read.
+	 *
+	 * @return whether the entry was replaced
+	 */
+	private boolean replaceIfUnchanged(Long postId, Long version, PostActivityDTO activity) {
+		return byPost.compute(postId, (id, current) -> Objects.equals(versions.get(id), version)
+				? replace(current, activity)
+				: current) == activity;
+	}
+
+	private PostActivityDTO replace(PostActivityDTO current, PostActivityDTO next) {
+		if (current != null) {
+			ranking.remove(current);
+		}
+		if (next != null) {
+			ranking.add(next);
+		}
+		return next;
+	}
+
+	private static Instant latest(Instant a, Instant b) {
+		return a == null || (b != null && b.isAfter(a)) ? b : a;
+	}
+}
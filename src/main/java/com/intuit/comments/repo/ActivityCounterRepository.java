@@ -0,0 +1,112 @@
+package com.intuit.comments.repo;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.intuit.comments.ranking.CommentRankOrder;
+import com.intuit.comments.ranking.HotScore;
+
+/**
+ * Applies accumulated activity deltas to the materialized counters, ranking
+ * scores and hot scores on {@code comments} and {@code posts}. Each flush is sent as a single
+ * JDBC batch of in-place updates, one statement per target row, in one
+ * transaction: a batch that fails is rolled back whole, so retrying it cannot
+ * apply any delta twice.
+ * <p>
+ * These columns are mapped as not updatable on the {@code Comment} and
+ * {@code Post} entities and only ever changed here, never through entity dirty
+ * checking, so concurrent writers cannot overwrite each other's increments.
+ */
+@Repository
+public class ActivityCounterRepository {
+
+	// ln(e^hot_score + e^?) without overflow, see HotScore
+	private static final String HOT_SCORE_PLUS = "GREATEST(hot_score, ?) "
+			+ "+ LN(1 + EXP(LEAST(hot_score, ?) - GREATEST(hot_score, ?)))";
+
+	private static final String UPDATE_COMMENT_COUNTS = "UPDATE comments SET like_count = like_count + ?, "
+			+ "dislike_count = dislike_count + ?, net_likes = net_likes + ?, reply_count = reply_count + ?, "
+			+ "descendant_count = descendant_count + ?, rank_score = rank_score + ?, hot_score = " + HOT_SCORE_PLUS
+			+ " WHERE id = ?";
+
+	private static final String UPDATE_POST_COUNTS = "UPDATE posts SET like_count = like_count + ?, "
+			+ "dislike_count = dislike_count + ?, hot_score = " + HOT_SCORE_PLUS + " WHERE id = ?";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Change in the activity of one target: its like and dislike counters, the
+	 * number of new comments on it (direct replies, for a comment) and, for a
+	 * comment, the number of new replies anywhere below it.
+	 */
+	public record Delta(long likes, long dislikes, long comments, long descendants) {
+
+		public static Delta reactions(long likes, long dislikes) {
+			return new Delta(likes, dislikes, 0, 0);
+		}
+
+		public static Delta comment() {
+			return new Delta(0, 0, 1, 0);
+		}
+
+		public static Delta reply() {
+			return new Delta(0, 0, 1, 1);
+		}
+
+		public static Delta descendant() {
+			return new Delta(0, 0, 0, 1);
+		}
+
+		public Delta plus(Delta other) {
+			return new Delta(likes + other.likes, dislikes + other.dislikes, comments + other.comments,
+					descendants + other.descendants);
+		}
+
+		public boolean isEmpty() {
+			return likes == 0 && dislikes == 0 && comments == 0 && descendants == 0;
+		}
+	}
+
+	/**
+	 * Applies the given deltas to the comment counters, reply counts, ranking
+	 * scores and hot scores.
+	 *
+	 * @param deltas deltas keyed by comment ID
+	 * @param now    time the activity is credited at
+	 */
+	@Transactional
+	public void applyCommentDeltas(Map<Long, Delta> deltas, Instant now) {
+		List<Object[]> args = new ArrayList<>(deltas.size());
+		deltas.forEach((commentId, delta) -> {
+			double hot = HotScore.increment(now, delta.likes(), delta.comments());
+			long netLikes = delta.likes() - delta.dislikes();
+			args.add(new Object[] { delta.likes(), delta.dislikes(), netLikes, delta.comments(), delta.descendants(),
+					CommentRankOrder.scoreIncrement(netLikes, delta.comments()), hot, hot, hot, commentId });
+		});
+		jdbcTemplate.batchUpdate(UPDATE_COMMENT_COUNTS, args);
+	}
+
+	/**
+	 * Applies the given deltas to the post counters and hot scores.
+	 *
+	 * @param deltas deltas keyed by post ID
+	 * @param now    time the activity is credited at
+	 */
+	@Transactional
+	public void applyPostDeltas(Map<Long, Delta> deltas, Instant now) {
+		List<Object[]> args = new ArrayList<>(deltas.size());
+		deltas.forEach((postId, delta) -> {
+			double hot = HotScore.increment(now, delta.likes(), delta.comments());
+			args.add(new Object[] { delta.likes(), delta.dislikes(), hot, hot, hot, postId });
+		});
+		jdbcTemplate.batchUpdate(UPDATE_POST_COUNTS, args);
+	}
+}
@@ -0,0 +1,61 @@
+package com.intuit.comments.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.intuit.comments.entity.CommentReaction;
+
+/**
+ * Repository for {@link CommentReaction} entities. A user holds at most one
+ * reaction per comment, enforced by the unique {@code (comment_id, user_id)}
+ * constraint: the first reaction is an {@link #insert}, later ones an
+ * {@link #updateType} of the row locked by {@link #findTypeForUpdate}.
+ */
+@Repository
+public interface CommentReactionRepository extends JpaRepository<CommentReaction, Long> {
+
+	/**
+	 * Returns the current reaction type of a user on a comment, locking the row
+	 * for the rest of the transaction.
+	 *
+	 * @param commentId The ID of the comment.
+	 * @param userId    The ID of the reacting user.
+	 * @return The database value of the reaction type, if the user has reacted.
+	 */
+	@Query(value = "SELECT CAST(type AS VARCHAR) FROM comment_reactions "
+			+ "WHERE comment_id = :commentId AND user_id = :userId FOR UPDATE", nativeQuery = true)
+	Optional<String> findTypeForUpdate(@Param("commentId") Long commentId, @Param("userId") Long userId);
+
+	/**
+	 * Inserts the first reaction of a user on a comment. Fails on the unique
+	 * constraint if another transaction has inserted one in the meantime.
+	 *
+	 * @param commentId The ID of the comment.
+	 * @param userId    The ID of the reacting user.
+	 * @param type      The database value of the reaction type.
+	 * @return The number of rows inserted.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO comment_reactions (comment_id, user_id, type) "
+			+ "VALUES (:commentId, :userId, CAST(:type AS reaction_type))", nativeQuery = true)
+	int insert(@Param("commentId") Long commentId, @Param("userId") Long userId, @Param("type") String type);
+
+	/**
+	 * Changes the type of an existing reaction of a user on a comment.
+	 *
+	 * @param commentId The ID of the comment.
+	 * @param userId    The ID of the reacting user.
+	 * @param type      The database value of the reaction type.
+	 * @return The number of rows updated.
+	 */
+	@Modifying
+	@Query(value = "UPDATE comment_reactions SET type = CAST(:type AS reaction_type) "
+			+ "WHERE comment_id = :commentId AND user_id = :userId", nativeQuery = true)
+	int updateType(@Param("commentId") Long commentId, @Param("userId") Long userId, @Param("type") String type);
+
+}
@@ -1,15 +1,22 @@
 package com.intuit.comments.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.UserCommentDTO;
 import com.intuit.comments.entity.Comment;
+import com.intuit.comments.repo.projection.CommentParentRow;
+import com.intuit.comments.repo.projection.CommentThreadRow;
 
 /**
  * Repository interface for handling database operations related to
@@ -19,15 +26,35 @@ import com.intuit.comments.entity.Comment;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+	/**
+	 * Select clause shared by the read queries. It projects straight into
+	 * {@link CommentResponseDTO}, joining only the author for the username;
+	 * post and parent are read from their foreign key columns.
+	 */
+	String SELECT_RESPONSE = "SELECT new com.intuit.comments.dto.CommentResponseDTO(c.id, c.post.id, c.parent.id, "
+			+ "u.id, u.username, c.content, c.createdAt, c.likeCount, c.dislikeCount, c.depth, c.replyCount, "
+			+ "c.descendantCount) "
+			+ "FROM Comment c JOIN c.user u ";
+
+	/**
+	 * Select clause of the user history queries. It projects into
+	 * {@link UserCommentDTO} from the comment row alone, truncating the content
+	 * in the database.
+	 */
+	String SELECT_USER_COMMENT = "SELECT new com.intuit.comments.dto.UserCommentDTO(c.id, c.post.id, c.parent.id, "
+			+ "SUBSTRING(c.content, 1, " + UserCommentDTO.SNIPPET_LENGTH + "), c.createdAt, c.likeCount, "
+			+ "c.dislikeCount, c.replyCount) FROM Comment c ";
+
 	/**
 	 * Retrieves a paginated list of comments associated with a specific post,
 	 * sorted by creation time in descending order.
 	 * 
 	 * @param postId   The ID of the post for which comments are to be retrieved.
 	 * @param pageable Pagination and sorting information.
-	 * @return Page of {@link Comment} objects.
+	 * @return Slice of {@link CommentResponseDTO} objects.
 	 */
-	Page<Comment> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable);
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId ORDER BY c.createdAt DESC")
+	Slice<CommentResponseDTO> findByPostIdOrderByCreatedAtDesc(@Param("postId") Long postId, Pageable pageable);
 
 	/**
 	 * Retrieves a paginated list of child comments associated with a specific
@@ -36,50 +63,262 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 	 * @param parentId The ID of the parent comment for which child comments are to
 	 *                 be retrieved.
 	 * @param pageable Pagination and sorting information.
-	 * @return Page of {@link Comment} objects.
+	 * @return Slice of {@link CommentResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.parent.id = :parentId ORDER BY c.createdAt DESC")
+	Slice<CommentResponseDTO> findByParentIdOrderByCreatedAtDesc(@Param("parentId") Long parentId,
+			Pageable pageable);
+
+	/**
+	 * Retrieves the first slice of comments for a post, newest first. Served by
+	 * the {@code (post_id, created_at, id)} index without a count query.
+	 * 
+	 * @param postId   The ID of the post for which comments are to be retrieved.
+	 * @param pageable Limit of the slice; only the page size is used.
+	 * @return List of {@link CommentResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId ORDER BY c.createdAt DESC, c.id DESC")
+	List<CommentResponseDTO> findRecentByPost(@Param("postId") Long postId, Pageable pageable);
+
+	/**
+	 * Retrieves the slice of comments for a post that follows the given keyset
+	 * position, newest first.
+	 * 
+	 * @param postId    The ID of the post for which comments are to be retrieved.
+	 * @param createdAt Creation time of the last comment already returned.
+	 * @param id        ID of the last comment already returned.
+	 * @param pageable  Limit of the slice; only the page size is used.
+	 * @return List of {@link CommentResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId "
+			+ "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+			+ "ORDER BY c.createdAt DESC, c.id DESC")
+	List<CommentResponseDTO> findRecentByPostBefore(@Param("postId") Long postId,
+			@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Retrieves the first slice of replies to a comment, newest first. Served by
+	 * the {@code (parent_id, created_at, id)} index without a count query.
+	 * 
+	 * @param parentId The ID of the parent comment.
+	 * @param pageable Limit of the slice; only the page size is used.
+	 * @return List of {@link CommentResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.parent.id = :parentId ORDER BY c.createdAt DESC, c.id DESC")
+	List<CommentResponseDTO> findRecentReplies(@Param("parentId") Long parentId, Pageable pageable);
+
+	/**
+	 * Retrieves the slice of replies to a comment that follows the given keyset
+	 * position, newest first.
+	 * 
+	 * @param parentId  The ID of the parent comment.
+	 * @param createdAt Creation time of the last reply already returned.
+	 * @param id        ID of the last reply already returned.
+	 * @param pageable  Limit of the slice; only the page size is used.
+	 * @return List of {@link CommentResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.parent.id = :parentId "
+			+ "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+			+ "ORDER BY c.createdAt DESC, c.id DESC")
+	List<CommentResponseDTO> findRecentRepliesBefore(@Param("parentId") Long parentId,
+			@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Retrieves the replies to a comment that have the most replies of their
+	 * own, read from the materialized counter through the
+	 * {@code (parent_id, reply_count)} index.
+	 * 
+	 * @param parentId The ID of the parent comment.
+	 * @param pageable Pagination information.
+	 * @return List of {@link CommentResponseDTO} objects, most replied first.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.parent.id = :parentId ORDER BY c.replyCount DESC, c.id DESC")
+	List<CommentResponseDTO> findTopRepliesByReplyCount(@Param("parentId") Long parentId, Pageable pageable);
+
+	/**
+	 * Retrieves the replies to a comment with the highest net likes, through
+	 * the {@code (parent_id, net_likes)} index.
+	 * 
+	 * @param parentId The ID of the parent comment.
+	 * @param pageable Pagination information.
+	 * @return List of {@link CommentResponseDTO} objects, highest net likes first.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.parent.id = :parentId ORDER BY c.netLikes DESC, c.id DESC")
+	List<CommentResponseDTO> findTopRepliesByNetLikes(@Param("parentId") Long parentId, Pageable pageable);
+
+	/**
+	 * Retrieves the replies to a comment with the highest combined score of net
+	 * likes and replies, through the {@code (parent_id, rank_score)} index.
+	 * 
+	 * @param parentId The ID of the parent comment.
+	 * @param pageable Pagination information.
+	 * @return List of {@link CommentResponseDTO} objects, highest score first.
 	 */
-	Page<Comment> findByParentIdOrderByCreatedAtDesc(Long parentId, Pageable pageable);
+	@Query(SELECT_RESPONSE + "WHERE c.parent.id = :parentId ORDER BY c.rankScore DESC, c.id DESC")
+	List<CommentResponseDTO> findTopRepliesByRankScore(@Param("parentId") Long parentId, Pageable pageable);
 
 	/**
-	 * Retrieves a paginated list of comments for a specific post sorted by net
-	 * likes (likes minus dislikes). This method utilizes a custom query with
-	 * subqueries to calculate the net likes for each comment.
+	 * Retrieves the first slice of a user's comments, newest first, served by
+	 * the {@code (user_id, created_at, id)} index. With {@code repliesOnly}
+	 * only the user's replies to other comments are returned.
+	 * 
+	 * @param userId      The ID of the author.
+	 * @param repliesOnly Whether to skip top-level comments.
+	 * @param pageable    Limit of the slice; only the page size is used.
+	 * @return List of {@link UserCommentDTO} objects.
+	 */
+	@Query(SELECT_USER_COMMENT + "WHERE c.user.id = :userId AND (:repliesOnly = false OR c.parent.id IS NOT NULL) "
+			+ "ORDER BY c.createdAt DESC, c.id DESC")
+	List<UserCommentDTO> findRecentByUser(@Param("userId") Long userId, @Param("repliesOnly") boolean repliesOnly,
+			Pageable pageable);
+
+	/**
+	 * Retrieves the slice of a user's comments that follows the given keyset
+	 * position, newest first.
+	 * 
+	 * @param userId      The ID of the author.
+	 * @param repliesOnly Whether to skip top-level comments.
+	 * @param createdAt   Creation time of the last comment already returned.
+	 * @param id          ID of the last comment already returned.
+	 * @param pageable    Limit of the slice; only the page size is used.
+	 * @return List of {@link UserCommentDTO} objects.
+	 */
+	@Query(SELECT_USER_COMMENT + "WHERE c.user.id = :userId AND (:repliesOnly = false OR c.parent.id IS NOT NULL) "
+			+ "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+			+ "ORDER BY c.createdAt DESC, c.id DESC")
+	List<UserCommentDTO> findRecentByUserBefore(@Param("userId") Long userId,
+			@Param("repliesOnly") boolean repliesOnly, @Param("createdAt") LocalDateTime createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	/**
+	 * Retrieves the comment tree of a post as flat rows in a single query, down to
+	 * {@code maxDepth} and keeping at most {@code fanOut} newest comments per
+	 * parent. Rows are ordered by depth so every parent precedes its replies.
+	 * 
+	 * @param postId   The ID of the post whose thread is retrieved.
+	 * @param maxDepth The deepest reply level to include; 0 for top-level only.
+	 * @param fanOut   The maximum number of comments per parent at each level.
+	 * @return List of {@link CommentThreadRow} rows.
+	 */
+	@Query(value = "SELECT t.id, t.parent_id AS parentId, t.user_id AS userId, u.username, t.content, "
+			+ "t.created_at AS createdAt, t.like_count AS likeCount, t.dislike_count AS dislikeCount, t.depth, "
+			+ "t.reply_count AS replyCount, t.descendant_count AS descendantCount "
+			+ "FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at DESC, c.id DESC) AS sibling_rank "
+			+ "FROM comments c WHERE c.post_id = :postId AND c.depth <= :maxDepth) t "
+			+ "JOIN users u ON u.id = t.user_id WHERE t.sibling_rank <= :fanOut "
+			+ "ORDER BY t.depth, t.created_at DESC, t.id DESC", nativeQuery = true)
+	List<CommentThreadRow> findThreadRows(@Param("postId") Long postId, @Param("maxDepth") int maxDepth,
+			@Param("fanOut") int fanOut);
+
+	/**
+	 * Retrieves a paginated list of top-level comments for a specific post sorted
+	 * by net likes (likes minus dislikes). Net likes are read from the
+	 * materialized counter column, so the query is a range scan over the
+	 * {@code (post_id, parent_id, net_likes)} index rather than an aggregation
+	 * over the reactions table. No count query is issued.
 	 * 
 	 * @param postId   The ID of the post for which comments are to be ranked by net
 	 *                 likes.
 	 * @param pageable Pagination and sorting information.
-	 * @return Page of arrays with {@link Comment} objects and their respective net
-	 *         like count.
+	 * @return List of {@link CommentResponseDTO} objects, highest net likes first.
 	 */
-	@Query("SELECT c, (SELECT COUNT(cr) FROM CommentReaction cr WHERE cr.comment = c AND cr.type = 'LIKE') - "
-			+ "(SELECT COUNT(cr) FROM CommentReaction cr WHERE cr.comment = c AND cr.type = 'DISLIKE') as netLikes "
-			+ "FROM Comment c " + "WHERE c.post.id = :postId " + "ORDER BY netLikes DESC")
-	Page<Object[]> findTopCommentsByPost(@Param("postId") Long postId, Pageable pageable);
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId AND c.parent IS NULL ORDER BY c.netLikes DESC, c.id DESC")
+	List<CommentResponseDTO> findTopCommentsByPost(@Param("postId") Long postId, Pageable pageable);
 
 	/**
-	 * Retrieves a list of comments with the highest number of 'LIKE' reactions,
-	 * sorted by like count in descending order.
+	 * Retrieves the top-level comments of a post with the most direct replies,
+	 * through the {@code (post_id, parent_id, reply_count)} index.
 	 * 
+	 * @param postId   The ID of the post.
 	 * @param pageable Pagination information.
-	 * @return List of arrays containing {@link Comment} objects and their
-	 *         respective like counts.
+	 * @return List of {@link CommentResponseDTO} objects, most replied first.
 	 */
-	@Query("SELECT cr.comment, COUNT(cr.id) as likeCount FROM CommentReaction cr " + "WHERE cr.type = 'LIKE' " +
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId AND c.parent IS NULL ORDER BY c.replyCount DESC, c.id DESC")
+	List<CommentResponseDTO> findTopCommentsByReplyCount(@Param("postId") Long postId, Pageable pageable);
 
-			"GROUP BY cr.comment " + "ORDER BY likeCount DESC")
-	List<Object[]> findTopLikedComments(Pageable pageable);
+	/**
+	 * Retrieves the top-level comments of a post with the highest combined score
+	 * of net likes and replies, through the
+	 * {@code (post_id, parent_id, rank_score)} index.
+	 * 
+	 * @param postId   The ID of the post.
+	 * @param pageable Pagination information.
+	 * @return List of {@link CommentResponseDTO} objects, highest score first.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId AND c.parent IS NULL ORDER BY c.rankScore DESC, c.id DESC")
+	List<CommentResponseDTO> findTopCommentsByRankScore(@Param("postId") Long postId, Pageable pageable);
 
 	/**
-	 * Retrieves a list of comments with the highest number of 'DISLIKE' reactions,
-	 * sorted by dislike count in descending order.
+	 * Retrieves a paginated list of top-level comments for a specific post sorted
+	 * by hot score, a time-decayed measure of likes and replies maintained at
+	 * write time. The query is a range scan over the
+	 * {@code (post_id, parent_id, hot_score)} index.
 	 * 
+	 * @param postId   The ID of the post for which comments are to be ranked.
 	 * @param pageable Pagination information.
-	 * @return List of arrays containing {@link Comment} objects and their
-	 *         respective dislike counts.
+	 * @return List of {@link CommentResponseDTO} objects, hottest first.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.post.id = :postId AND c.parent IS NULL ORDER BY c.hotScore DESC, c.id DESC")
+	List<CommentResponseDTO> findHotCommentsByPost(@Param("postId") Long postId, Pageable pageable);
+
+	/**
+	 * Returns the ID of the post a comment belongs to, which doubles as an
+	 * existence check for the comment.
+	 * 
+	 * @param commentId The ID of the comment.
+	 * @return The post ID, or empty if the comment does not exist.
 	 */
-	@Query("SELECT cr.comment, COUNT(cr.id) as dislikeCount FROM CommentReaction cr " + "WHERE cr.type = 'DISLIKE' " +
+	@Query("SELECT c.post.id FROM Comment c WHERE c.id = :commentId")
+	Optional<Long> findPostIdById(@Param("commentId") Long commentId);
 
-			"GROUP BY cr.comment " + "ORDER BY dislikeCount DESC")
-	List<Object[]> findTopDislikedComments(Pageable pageable);
+	/**
+	 * Retrieves the comments with the most likes across all posts, read from the
+	 * materialized counter through the {@code like_count} index. Used to build
+	 * the in-memory reaction leaderboard, not on the request path.
+	 * 
+	 * @param pageable Pagination information.
+	 * @return List of {@link CommentResponseDTO} objects, most liked first.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.likeCount > 0 ORDER BY c.likeCount DESC, c.id DESC")
+	List<CommentResponseDTO> findMostLiked(Pageable pageable);
+
+	/**
+	 * Retrieves the comments with the most dislikes across all posts, read from
+	 * the materialized counter through the {@code dislike_count} index.
+	 * 
+	 * @param pageable Pagination information.
+	 * @return List of {@link CommentResponseDTO} objects, most disliked first.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.dislikeCount > 0 ORDER BY c.dislikeCount DESC, c.id DESC")
+	List<CommentResponseDTO> findMostDisliked(Pageable pageable);
+
+	/**
+	 * Retrieves the given comments in a single query.
+	 * 
+	 * @param ids The IDs of the comments.
+	 * @return List of {@link CommentResponseDTO} objects in no particular order.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE c.id IN :ids")
+	List<CommentResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Retrieves what is needed to attach replies to the given comments, in a
+	 * single query.
+	 * 
+	 * @param ids The IDs of the parent comments.
+	 * @return List of {@link CommentParentRow} rows in no particular order.
+	 */
+	@Query("SELECT c.id AS id, c.post.id AS postId, c.depth AS depth, c.path AS path FROM Comment c WHERE c.id IN :ids")
+	List<CommentParentRow> findParentsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Retrieves what is needed to attach a reply to a comment, without loading
+	 * the comment or any of its associations.
+	 * 
+	 * @param id The ID of the parent comment.
+	 * @return The parent's post, depth and path, or empty if it does not exist.
+	 */
+	@Query("SELECT c.id AS id, c.post.id AS postId, c.depth AS depth, c.path AS path FROM Comment c WHERE c.id = :id")
+	Optional<CommentParentRow> findParentById(@Param("id") Long id);
 
 }
@@ -0,0 +1,71 @@
+package com.intuit.comments.repo;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.intuit.comments.ranking.HotScore;
+
+/**
+ * Plain JDBC writes of comments whose IDs were assigned up front, used by the
+ * write-behind queue. IDs come from {@code comments_seq} in the same blocks the
+ * {@link com.intuit.comments.entity.Comment} entity uses, so both paths can
+ * insert side by side without collisions.
+ */
+@Repository
+public class CommentWriteRepository {
+
+	/** Must match the allocation size of the {@code Comment} ID generator. */
+	public static final int ID_BLOCK_SIZE = 50;
+
+	private static final String NEXT_ID_BLOCK = "SELECT NEXT VALUE FOR comments_seq";
+
+	private static final String INSERT_COMMENT = "INSERT INTO comments "
+			+ "(id, post_id, parent_id, user_id, content, created_at, depth, path, hot_score) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/**
+	 * A comment ready to be inserted.
+	 */
+	public record NewComment(Long id, Long postId, Long parentId, Long userId, String content,
+			LocalDateTime createdAt, int depth, String path) {
+	}
+
+	/**
+	 * Reserves the next block of {@value #ID_BLOCK_SIZE} comment IDs.
+	 *
+	 * @return the highest ID of the block; the block starts
+	 *         {@code ID_BLOCK_SIZE - 1} below it
+	 */
+	public long nextIdBlock() {
+		return jdbcTemplate.queryForObject(NEXT_ID_BLOCK, Long.class);
+	}
+
+	/**
+	 * Inserts the given comments as a single JDBC batch.
+	 */
+	public void insertAll(List<NewComment> comments) {
+		jdbcTemplate.batchUpdate(INSERT_COMMENT, comments, comments.size(), (ps, comment) -> {
+			// createdAt is in the JVM's time zone; stored in UTC like Hibernate does
+			Instant createdAt = comment.createdAt().atZone(ZoneId.systemDefault()).toInstant();
+			ps.setLong(1, comment.id());
+			ps.setLong(2, comment.postId());
+			ps.setObject(3, comment.parentId());
+			ps.setLong(4, comment.userId());
+			ps.setString(5, comment.content());
+			ps.setObject(6, LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC));
+			ps.setInt(7, comment.depth());
+			ps.setString(8, comment.path());
+			ps.setDouble(9, HotScore.at(createdAt));
+		});
+	}
+}
@@ -0,0 +1,61 @@
+package com.intuit.comments.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.intuit.comments.entity.PostReaction;
+
+/**
+ * Repository for {@link PostReaction} entities. A user holds at most one
+ * reaction per post, enforced by the unique {@code (post_id, user_id)}
+ * constraint: the first reaction is an {@link #insert}, later ones an
+ * {@link #updateType} of the row locked by {@link #findTypeForUpdate}.
+ */
+@Repository
+public interface PostReactionRepository extends JpaRepository<PostReaction, Long> {
+
+	/**
+	 * Returns the current reaction type of a user on a post, locking the row
+	 * for the rest of the transaction.
+	 *
+	 * @param postId The ID of the post.
+	 * @param userId The ID of the reacting user.
+	 * @return The database value of the reaction type, if the user has reacted.
+	 */
+	@Query(value = "SELECT CAST(type AS VARCHAR) FROM post_reactions "
+			+ "WHERE post_id = :postId AND user_id = :userId FOR UPDATE", nativeQuery = true)
+	Optional<String> findTypeForUpdate(@Param("postId") Long postId, @Param("userId") Long userId);
+
+	/**
+	 * Inserts the first reaction of a user on a post. Fails on the unique
+	 * constraint if another transaction has inserted one in the meantime.
+	 *
+	 * @param postId The ID of the post.
+	 * @param userId The ID of the reacting user.
+	 * @param type   The database value of the reaction type.
+	 * @return The number of rows inserted.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO post_reactions (post_id, user_id, type) "
+			+ "VALUES (:postId, :userId, CAST(:type AS reaction_type))", nativeQuery = true)
+	int insert(@Param("postId") Long postId, @Param("userId") Long userId, @Param("type") String type);
+
+	/**
+	 * Changes the type of an existing reaction of a user on a post.
+	 *
+	 * @param postId The ID of the post.
+	 * @param userId The ID of the reacting user.
+	 * @param type   The database value of the reaction type.
+	 * @return The number of rows updated.
+	 */
+	@Modifying
+	@Query(value = "UPDATE post_reactions SET type = CAST(:type AS reaction_type) "
+			+ "WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+	int updateType(@Param("postId") Long postId, @Param("userId") Long userId, @Param("type") String type);
+
+}
@@ -1,5 +1,7 @@
 package com.intuit.comments.repo;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -9,7 +11,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.intuit.comments.dto.PostResponseDTO;
 import com.intuit.comments.entity.Post;
+import com.intuit.comments.repo.projection.PostActivityRow;
+import com.intuit.comments.repo.projection.PostRow;
 
 /**
  * Repository for managing CRUD operations for {@link Post} entities.
@@ -17,6 +22,13 @@ import com.intuit.comments.entity.Post;
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+	/**
+	 * Select clause shared by the post read queries, projecting straight into
+	 * {@link PostResponseDTO} with the author's username.
+	 */
+	String SELECT_RESPONSE = "SELECT new com.intuit.comments.dto.PostResponseDTO(p.id, u.id, u.username, p.title, "
+			+ "p.content, p.createdAt, p.likeCount, p.dislikeCount) FROM Post p JOIN p.user u ";
+
 	/**
 	 * Retrieves a list of posts made by a specific user, sorted by creation date in
 	 * descending order.
@@ -24,12 +36,41 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 	 * @param userId The ID of the user whose posts are to be retrieved.
 	 * @param offset The position of the first result to retrieve.
 	 * @param limit  The maximum number of posts to retrieve.
-	 * @return A list of {@link Post} objects.
+	 * @return A list of {@link PostRow} rows.
 	 */
-	@Query(value = "SELECT * FROM posts WHERE user_id = :userId ORDER BY created_at DESC OFFSET :offset ROWS FETCH FIRST :limit ROWS ONLY", nativeQuery = true)
-	List<Post> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, @Param("offset") Integer offset,
+	@Query(value = "SELECT p.id, p.user_id AS userId, u.username, p.title, p.content, p.created_at AS createdAt, "
+			+ "p.like_count AS likeCount, p.dislike_count AS dislikeCount FROM posts p JOIN users u ON u.id = p.user_id "
+			+ "WHERE p.user_id = :userId ORDER BY p.created_at DESC, p.id DESC OFFSET :offset ROWS FETCH FIRST :limit ROWS ONLY", nativeQuery = true)
+	List<PostRow> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, @Param("offset") Long offset,
 			@Param("limit") Integer limit);
 
+	/**
+	 * Retrieves the first slice of a user's posts, newest first. Served by the
+	 * {@code (user_id, created_at, id)} index without a count query.
+	 *
+	 * @param userId   The ID of the author.
+	 * @param pageable Limit of the slice; only the page size is used.
+	 * @return A list of {@link PostResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE p.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+	List<PostResponseDTO> findRecentByUser(@Param("userId") Long userId, Pageable pageable);
+
+	/**
+	 * Retrieves the slice of a user's posts that follows the given keyset
+	 * position, newest first.
+	 *
+	 * @param userId    The ID of the author.
+	 * @param createdAt Creation time of the last post already returned.
+	 * @param id        ID of the last post already returned.
+	 * @param pageable  Limit of the slice; only the page size is used.
+	 * @return A list of {@link PostResponseDTO} objects.
+	 */
+	@Query(SELECT_RESPONSE + "WHERE p.user.id = :userId "
+			+ "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<PostResponseDTO> findRecentByUserBefore(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
 	/**
 	 * Finds the most liked posts using pagination. This includes a count of likes
 	 * for sorting purposes.
@@ -59,18 +100,38 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 	Page<Post> findTopDislikedPosts(Pageable pageable);
 
 	/**
-     * Retrieves the top posts based on activity, which includes reactions and comments.
-     * Posts are sorted by the total number of reactions, the time of the latest comment, and the post creation date.
-     *
-     * @param offset The position of the first result to retrieve.
-     * @param limit The maximum number of posts to retrieve.
-     * @return A list of {@link Post} objects.
-     */
-	@Query(value = "SELECT p.*, " + "COUNT(distinct pr.id) as reaction_count, "
-			+ "COUNT(distinct c.id) as comment_count, " + "MAX(c.created_at) as latest_comment_time " + "FROM posts p "
-			+ "LEFT JOIN post_reactions pr ON p.id = pr.post_id " + "LEFT JOIN comments c ON p.id = c.post_id "
-			+ "GROUP BY p.id " + "ORDER BY reaction_count DESC, latest_comment_time DESC, p.created_at DESC "
-			+ "OFFSET :offset ROWS FETCH FIRST :limit ROWS ONLY", nativeQuery = true)
-	List<Post> findTopPostsByActivity(@Param("offset") Integer offset, @Param("limit") Integer limit);
+	 * Retrieves the activity totals of every post: reaction count from the
+	 * materialized counters, and comment count and latest comment time from the
+	 * {@code (post_id, created_at, id)} index. Used to rebuild and reconcile the
+	 * in-memory activity leaderboard, not on the request path.
+	 *
+	 * @return A list of {@link PostActivityRow} rows, one per post.
+	 */
+	@Query(value = "SELECT p.id, p.user_id AS userId, p.title, p.created_at AS createdAt, "
+			+ "p.like_count + p.dislike_count AS reactionCount, "
+			+ "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) AS commentCount, "
+			+ "(SELECT MAX(c.created_at) FROM comments c WHERE c.post_id = p.id) AS latestCommentAt "
+			+ "FROM posts p", nativeQuery = true)
+	List<PostActivityRow> findPostActivity();
+
+	/**
+	 * Returns which of the given posts exist, in a single query.
+	 *
+	 * @param ids The IDs of the posts.
+	 * @return The IDs of the posts that exist.
+	 */
+	@Query("SELECT p.id FROM Post p WHERE p.id IN :ids")
+	List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Retrieves posts ranked by hot score, a time-decayed measure of likes and
+	 * comments maintained at write time. The query is a scan of the
+	 * {@code hot_score} index in descending order, no aggregation is involved.
+	 *
+	 * @param pageable The pagination information.
+	 * @return A list of {@link PostResponseDTO} objects, hottest first.
+	 */
+	@Query(SELECT_RESPONSE + "ORDER BY p.hotScore DESC, p.id DESC")
+	List<PostResponseDTO> findHotPosts(Pageable pageable);
 
 }
@@ -1,9 +1,15 @@
 package com.intuit.comments.repo;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.intuit.comments.entity.User;
+import com.intuit.comments.repo.projection.UserNameRow;
 
 
 /**
@@ -13,4 +19,14 @@ import com.intuit.comments.entity.User;
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+	/**
+	 * Retrieves the names of the given users in a single query. Missing users
+	 * are simply absent from the result.
+	 *
+	 * @param ids The IDs of the users.
+	 * @return A list of {@link UserNameRow} rows in no particular order.
+	 */
+	@Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+	List<UserNameRow> findNamesByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.intuit.comments.repo.projection;
+
+/**
+ * The parts of a comment needed to attach a reply to it, as selected by
+ * {@link com.intuit.comments.repo.CommentRepository#findParentsByIdIn}.
+ */
+public interface CommentParentRow {
+
+	Long getId();
+
+	Long getPostId();
+
+	int getDepth();
+
+	String getPath();
+}
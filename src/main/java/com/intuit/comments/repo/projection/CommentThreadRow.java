@@ -0,0 +1,32 @@
+package com.intuit.comments.repo.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row of a comment thread query, one per comment, as selected by
+ * {@link com.intuit.comments.repo.CommentRepository#findThreadRows}.
+ */
+public interface CommentThreadRow {
+
+	Long getId();
+
+	Long getParentId();
+
+	Long getUserId();
+
+	String getUsername();
+
+	String getContent();
+
+	LocalDateTime getCreatedAt();
+
+	long getLikeCount();
+
+	long getDislikeCount();
+
+	int getDepth();
+
+	long getReplyCount();
+
+	long getDescendantCount();
+}
@@ -0,0 +1,24 @@
+package com.intuit.comments.repo.projection;
+
+import java.time.Instant;
+
+/**
+ * Activity totals of one post, as selected by
+ * {@link com.intuit.comments.repo.PostRepository#findPostActivity}.
+ */
+public interface PostActivityRow {
+
+	Long getId();
+
+	Long getUserId();
+
+	String getTitle();
+
+	Instant getCreatedAt();
+
+	long getReactionCount();
+
+	long getCommentCount();
+
+	Instant getLatestCommentAt();
+}
@@ -0,0 +1,26 @@
+package com.intuit.comments.repo.projection;
+
+import java.time.Instant;
+
+/**
+ * Flat row of a post joined with its author's name, as selected by the native
+ * post queries of {@link com.intuit.comments.repo.PostRepository}.
+ */
+public interface PostRow {
+
+	Long getId();
+
+	Long getUserId();
+
+	String getUsername();
+
+	String getTitle();
+
+	String getContent();
+
+	Instant getCreatedAt();
+
+	long getLikeCount();
+
+	long getDislikeCount();
+}
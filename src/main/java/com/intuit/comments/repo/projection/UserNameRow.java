@@ -0,0 +1,12 @@
+package com.intuit.comments.repo.projection;
+
+/**
+ * ID and name of a user, as selected by
+ * {@link com.intuit.comments.repo.UserRepository#findNamesByIdIn}.
+ */
+public interface UserNameRow {
+
+	Long getId();
+
+	String getUsername();
+}
@@ -0,0 +1,99 @@
+package com.intuit.comments.search;
+
+import java.time.Instant;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+
+import com.intuit.comments.dto.SearchHitDTO;
+
+/**
+ * Maps comments and posts to search index documents and back. Every field a
+ * hit is built from is stored in the document, so serving a search never reads
+ * the database.
+ */
+public final class SearchDocuments {
+
+	public static final String COMMENT = "comment";
+	public static final String POST = "post";
+
+	public static final String KEY_FIELD = "key";
+	public static final String TYPE_FIELD = "type";
+	public static final String ID_FIELD = "id";
+	public static final String POST_ID_FIELD = "postId";
+	public static final String PARENT_ID_FIELD = "parentId";
+	public static final String USER_ID_FIELD = "userId";
+	public static final String USERNAME_FIELD = "username";
+	public static final String TITLE_FIELD = "title";
+	public static final String CONTENT_FIELD = "content";
+	public static final String CREATED_AT_FIELD = "createdAt";
+
+	public static final int SNIPPET_LENGTH = 200;
+
+	private SearchDocuments() {
+	}
+
+	/**
+	 * Term identifying the document of a comment or post, used to replace it
+	 * when it is indexed again.
+	 */
+	public static Term key(String type, Long id) {
+		return new Term(KEY_FIELD, type + ":" + id);
+	}
+
+	public static Document comment(Long id, Long postId, Long parentId, Long userId, String username, String content,
+			Instant createdAt) {
+		Document doc = common(COMMENT, id, postId, userId, username, content, createdAt);
+		if (parentId != null) {
+			doc.add(new StoredField(PARENT_ID_FIELD, parentId));
+		}
+		return doc;
+	}
+
+	public static Document post(Long id, Long userId, String username, String title, String content, Instant createdAt) {
+		Document doc = common(POST, id, id, userId, username, content, createdAt);
+		if (title != null) {
+			doc.add(new TextField(TITLE_FIELD, title, Field.Store.YES));
+		}
+		return doc;
+	}
+
+	private static Document common(String type, Long id, Long postId, Long userId, String username, String content,
+			Instant createdAt) {
+		Document doc = new Document();
+		doc.add(new StringField(KEY_FIELD, type + ":" + id, Field.Store.NO));
+		doc.add(new StringField(TYPE_FIELD, type, Field.Store.YES));
+		doc.add(new StoredField(ID_FIELD, id));
+		doc.add(new LongPoint(POST_ID_FIELD, postId));
+		doc.add(new StoredField(POST_ID_FIELD, postId));
+		doc.add(new StoredField(USER_ID_FIELD, userId));
+		if (username != null) {
+			doc.add(new StoredField(USERNAME_FIELD, username));
+		}
+		doc.add(new TextField(CONTENT_FIELD, content == null ? "" : content, Field.Store.YES));
+		long createdAtMillis = createdAt.toEpochMilli();
+		doc.add(new NumericDocValuesField(CREATED_AT_FIELD, createdAtMillis));
+		doc.add(new StoredField(CREATED_AT_FIELD, createdAtMillis));
+		return doc;
+	}
+
+	public static SearchHitDTO hit(Document doc, float score) {
+		String content = doc.get(CONTENT_FIELD);
+		String snippet = content.length() > SNIPPET_LENGTH ? content.substring(0, SNIPPET_LENGTH) : content;
+		return new SearchHitDTO(doc.get(TYPE_FIELD), longValue(doc, ID_FIELD), longValue(doc, POST_ID_FIELD),
+				longValue(doc, PARENT_ID_FIELD), longValue(doc, USER_ID_FIELD), doc.get(USERNAME_FIELD), doc.get(TITLE_FIELD),
+				snippet, Instant.ofEpochMilli(longValue(doc, CREATED_AT_FIELD)), score);
+	}
+
+	private static Long longValue(Document doc, String field) {
+		IndexableField value = doc.getField(field);
+		return value == null ? null : value.numericValue().longValue();
+	}
+}
@@ -0,0 +1,39 @@
+package com.intuit.comments.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.intuit.comments.service.SearchService;
+
+/**
+ * Reports the size of the search index at {@code /actuator/searchindex}. A
+ * {@code POST} rebuilds the index from the database.
+ */
+@Component
+@Endpoint(id = "searchindex")
+public class SearchIndexEndpoint {
+
+	public record SearchIndexStatus(int documents) {
+	}
+
+	public record RebuildResult(int documents, long elapsedMillis) {
+	}
+
+	@Autowired
+	private SearchService searchService;
+
+	@ReadOperation
+	public SearchIndexStatus status() {
+		return new SearchIndexStatus(searchService.documentCount());
+	}
+
+	@WriteOperation
+	public RebuildResult rebuild() {
+		long start = System.nanoTime();
+		int documents = searchService.rebuild();
+		return new RebuildResult(documents, (System.nanoTime() - start) / 1_000_000);
+	}
+}
@@ -0,0 +1,32 @@
+package com.intuit.comments.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * Exports comments as newline-delimited JSON for archival and analytics.
+ */
+public interface CommentExportService {
+
+	/**
+	 * Writes every comment matching the filters to {@code out}, one JSON object
+	 * per line, oldest first, with timestamps written as UTC instants. Rows are
+	 * streamed from a forward-only cursor as they are written, so memory use
+	 * does not grow with the number of comments exported.
+	 *
+	 * @param postId        only export comments on this post, or null for all
+	 *                      posts
+	 * @param from          only export comments created at or after this
+	 *                      instant, or null
+	 * @param to            only export comments created before this instant, or
+	 *                      null
+	 * @param withReactions whether to include each comment's reactions as a
+	 *                      {@code reactions} array
+	 * @param out           the stream to write to; it is flushed but not closed
+	 * @return the number of comments written
+	 * @throws IOException if writing to {@code out} fails
+	 */
+	long exportComments(Long postId, Instant from, Instant to, boolean withReactions, OutputStream out)
+			throws IOException;
+}
@@ -4,8 +4,14 @@ import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 
+import com.intuit.comments.dto.AcceptedCommentDTO;
+import com.intuit.comments.dto.BulkCommentResultDTO;
 import com.intuit.comments.dto.CommentDTO;
-import com.intuit.comments.entity.Comment;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.CommentThreadDTO;
+import com.intuit.comments.dto.CursorPage;
+import com.intuit.comments.dto.UserCommentDTO;
+import com.intuit.comments.ranking.CommentRankOrder;
 
 /**
  * Provides service-layer methods for managing comments on a social platform or
@@ -16,14 +22,41 @@ import com.intuit.comments.entity.Comment;
 public interface CommentService {
 
 	/**
-	 * Adds a new comment to the database.
+	 * Adds a new comment to the database. A reply may be nested at most
+	 * {@code comments.max-reply-depth} levels below a top-level comment.
 	 *
 	 * @param commentDTO the data transfer object containing comment details from
 	 *                   the client
-	 * @return the newly created Comment entity with generated identifiers and
-	 *         timestamps
+	 * @return the newly created comment with its generated identifier and
+	 *         timestamp
 	 */
-	Comment addComment(CommentDTO commentDTO);
+	CommentResponseDTO addComment(CommentDTO commentDTO);
+
+	/**
+	 * Adds many comments in one transaction. Referenced users, posts and parent
+	 * comments are resolved with one query each, and the inserts are sent as JDBC
+	 * batches. Replies must refer to comments that already exist, within the
+	 * same depth limit as single comments. If any comment is invalid, none are
+	 * added.
+	 *
+	 * @param commentDTOs the comments to add
+	 * @return the IDs of the added comments and the achieved insert throughput
+	 */
+	BulkCommentResultDTO bulkAddComments(List<CommentDTO> commentDTOs);
+
+	/**
+	 * Validates a comment and queues it for asynchronous insertion. Only
+	 * available when write-behind mode is enabled. The user, the post and, for a
+	 * reply, the parent must exist; a parent may also be an accepted comment that
+	 * is not written yet. Replies are subject to the same depth limit as
+	 * {@link #addComment(CommentDTO)}.
+	 *
+	 * @param commentDTO the comment to add
+	 * @return the accepted comment with its assigned ID
+	 * @throws com.intuit.comments.exceptions.WriteQueueFullException if too many
+	 *         comments of the post are waiting to be written
+	 */
+	AcceptedCommentDTO acceptComment(CommentDTO commentDTO);
 
 	/**
 	 * Retrieves a list of comments associated with a specific post, ordered by
@@ -36,7 +69,7 @@ public interface CommentService {
 	 * @return a list of comments for the specified post, sorted by the 'createdAt'
 	 *         timestamp in descending order
 	 */
-	List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable);
+	List<CommentResponseDTO> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable);
 
 	/**
 	 * Retrieves a list of comments that are replies to a specific parent comment,
@@ -49,6 +82,109 @@ public interface CommentService {
 	 * @return a list of reply comments for the specified parent, sorted by the
 	 *         'createdAt' timestamp in descending order
 	 */
-	List<Comment> findByParentIdOrderByCreatedAtDesc(Long parentId, Pageable pageable);
+	List<CommentResponseDTO> findByParentIdOrderByCreatedAtDesc(Long parentId, Pageable pageable);
+
+	/**
+	 * Retrieves the top-level comments of a specific post ranked by net likes
+	 * (likes minus dislikes), reply count or the combined score, in descending
+	 * order. Replies are ranked separately, per parent.
+	 *
+	 * @param postId   the identifier of the post for which comments are being
+	 *                 retrieved
+	 * @param order    the ranking to apply
+	 * @param pageable pagination information including page number and page size
+	 * @return a list of comments for the specified post, highest ranked first
+	 */
+	List<CommentResponseDTO> findTopCommentsByPost(Long postId, CommentRankOrder order, Pageable pageable);
+
+	/**
+	 * Retrieves the replies to a comment ranked by net likes, reply count or the
+	 * combined score, in descending order.
+	 *
+	 * @param parentId the identifier of the parent comment
+	 * @param order    the ranking to apply
+	 * @param pageable pagination information including page number and page size
+	 * @return a list of replies, highest ranked first
+	 */
+	List<CommentResponseDTO> findTopReplies(Long parentId, CommentRankOrder order, Pageable pageable);
+
+	/**
+	 * Retrieves the top-level comments of a specific post ranked by hot score,
+	 * which favours recent likes and replies over old ones.
+	 *
+	 * @param postId   the identifier of the post for which comments are being
+	 *                 retrieved
+	 * @param pageable pagination information including page number and page size
+	 * @return a list of comments for the specified post, hottest first
+	 */
+	List<CommentResponseDTO> findHotCommentsByPost(Long postId, Pageable pageable);
+
+	/**
+	 * Retrieves a slice of comments for a post, newest first, using keyset
+	 * pagination. Latency does not depend on how deep the client has scrolled.
+	 *
+	 * @param postId the identifier of the post
+	 * @param cursor the cursor returned with the previous slice, or null for the
+	 *               first slice
+	 * @param size   the maximum number of comments to return
+	 * @return the slice and the cursor of the next one
+	 */
+	CursorPage<CommentResponseDTO> findRecentByPost(Long postId, String cursor, int size);
+
+	/**
+	 * Retrieves a slice of replies to a comment, newest first, using keyset
+	 * pagination.
+	 *
+	 * @param parentId the identifier of the parent comment
+	 * @param cursor   the cursor returned with the previous slice, or null for the
+	 *                 first slice
+	 * @param size     the maximum number of replies to return
+	 * @return the slice and the cursor of the next one
+	 */
+	CursorPage<CommentResponseDTO> findRecentReplies(Long parentId, String cursor, int size);
+
+	/**
+	 * Retrieves a slice of a user's comment history, newest first, using keyset
+	 * pagination.
+	 *
+	 * @param userId      the identifier of the author
+	 * @param repliesOnly whether to list only the user's replies to other
+	 *                    comments
+	 * @param cursor      the cursor returned with the previous slice, or null for
+	 *                    the first slice
+	 * @param size        the maximum number of comments to return
+	 * @return the slice and the cursor of the next one
+	 */
+	CursorPage<UserCommentDTO> findRecentByUser(Long userId, boolean repliesOnly, String cursor, int size);
+
+	/**
+	 * Retrieves the comment tree of a post in a single query, nested up to the
+	 * given depth with a per-parent limit on the number of replies.
+	 *
+	 * @param postId   the identifier of the post
+	 * @param maxDepth the deepest reply level to include; 0 for top-level only
+	 * @param fanOut   the maximum number of comments per parent at each level
+	 * @return the top-level comments of the post with their nested replies, newest
+	 *         first at every level
+	 */
+	List<CommentThreadDTO> findThreadByPost(Long postId, int maxDepth, int fanOut);
+
+	/**
+	 * Retrieves the most liked comments across all posts. Served from an
+	 * in-memory top-K leaderboard rather than an aggregation over reactions.
+	 *
+	 * @param limit the maximum number of comments to return
+	 * @return the most liked comments, highest like count first
+	 */
+	List<CommentResponseDTO> findMostLikedComments(int limit);
+
+	/**
+	 * Retrieves the most disliked comments across all posts. Served from an
+	 * in-memory top-K leaderboard rather than an aggregation over reactions.
+	 *
+	 * @param limit the maximum number of comments to return
+	 * @return the most disliked comments, highest dislike count first
+	 */
+	List<CommentResponseDTO> findMostDislikedComments(int limit);
 
 }
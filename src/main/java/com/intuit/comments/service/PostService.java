@@ -4,8 +4,10 @@ import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 
+import com.intuit.comments.dto.CursorPage;
+import com.intuit.comments.dto.PostActivityDTO;
 import com.intuit.comments.dto.PostDTO;
-import com.intuit.comments.entity.Post;
+import com.intuit.comments.dto.PostResponseDTO;
 
 /**
  * Interface for managing post-related operations.
@@ -18,10 +20,10 @@ public interface PostService {
      *
      * @param postDTO The DTO containing the data for the new post. This includes the post content,
      *                and may include metadata such as the post's visibility and any tags associated with it.
-     * @return The created Post entity, which now includes a generated ID and possibly other modifications
+     * @return The created post, which now includes a generated ID and possibly other modifications
      *         made during the creation process such as timestamps.
      */
-	Post createPost(PostDTO postDTO);
+	PostResponseDTO createPost(PostDTO postDTO);
 
 	
 	/**
@@ -30,7 +32,40 @@ public interface PostService {
      * @param userId The ID of the user whose posts are to be retrieved.
      * @param pageable A Pageable object specifying the pagination information such as page number and size.
      *                 This is used to handle large sets of data by breaking the data set into manageable pages.
-     * @return A list of Post entities that belong to the specified user, constrained by the pagination settings.
+     * @return A list of posts that belong to the specified user, constrained by the pagination settings.
      */
-	public List<Post> getPostsByUser(Long userId, Pageable pageable);
+	public List<PostResponseDTO> getPostsByUser(Long userId, Pageable pageable);
+
+	/**
+	 * Retrieves a slice of a user's posts, newest first, using keyset
+	 * pagination. Latency does not depend on how deep the client has scrolled.
+	 *
+	 * @param userId the ID of the author
+	 * @param cursor the cursor returned with the previous slice, or null for the
+	 *               first slice
+	 * @param size   the maximum number of posts to return
+	 * @return the slice and the cursor of the next one
+	 */
+	CursorPage<PostResponseDTO> getRecentPostsByUser(Long userId, String cursor, int size);
+
+	/**
+     * Retrieves the most active posts, ranked by total reactions, then the time of the latest
+     * comment, then the post creation date. Served from an incrementally maintained in-memory
+     * leaderboard rather than an aggregation over posts, reactions and comments. Only the
+     * top 1000 posts can be paged to.
+     *
+     * @param offset The number of top posts to skip.
+     * @param limit  The maximum number of posts to return.
+     * @return A list of post activity summaries in rank order.
+     */
+	List<PostActivityDTO> getTopPostsByActivity(int offset, int limit);
+
+	/**
+     * Retrieves posts ranked by hot score, which favours recent likes and comments over
+     * all-time totals so that old popular posts do not permanently hold the top spots.
+     *
+     * @param pageable A Pageable object specifying the page number and size.
+     * @return A list of posts, hottest first.
+     */
+	List<PostResponseDTO> getHotPosts(Pageable pageable);
 }
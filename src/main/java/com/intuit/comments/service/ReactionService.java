@@ -0,0 +1,29 @@
+package com.intuit.comments.service;
+
+import com.intuit.comments.dto.LikeDislikeDTO;
+import com.intuit.comments.dto.PostLikeDislikeDTO;
+import com.intuit.comments.dto.ReactionResultDTO;
+
+/**
+ * Records likes and dislikes on comments and posts. Each user holds at most
+ * one reaction per target: reacting again with the same type is a no-op and
+ * switching between like and dislike updates the existing reaction in place.
+ */
+public interface ReactionService {
+
+	/**
+	 * Records a like or dislike of a user on a comment.
+	 *
+	 * @param likeDislikeDTO the comment, the user and the reaction type
+	 * @return the resulting reaction and whether anything changed
+	 */
+	ReactionResultDTO reactToComment(LikeDislikeDTO likeDislikeDTO);
+
+	/**
+	 * Records a like or dislike of a user on a post.
+	 *
+	 * @param postLikeDislikeDTO the post, the user and the reaction type
+	 * @return the resulting reaction and whether anything changed
+	 */
+	ReactionResultDTO reactToPost(PostLikeDislikeDTO postLikeDislikeDTO);
+}
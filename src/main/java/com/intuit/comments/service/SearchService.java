@@ -0,0 +1,42 @@
+package com.intuit.comments.service;
+
+import java.util.List;
+
+import com.intuit.comments.dto.SearchHitDTO;
+
+/**
+ * Full-text search over comment and post content. Searches are answered from
+ * a search index kept up to date by the write paths, never from the comments
+ * and posts tables.
+ */
+public interface SearchService {
+
+	/**
+	 * Searches comment and post content. The query matches documents containing
+	 * all of its terms; quoted terms match as a phrase, {@code -term} excludes,
+	 * {@code |} separates alternatives and a trailing {@code *} matches a
+	 * prefix. Post titles weigh twice as much as content.
+	 *
+	 * @param query    the search query
+	 * @param type     {@code "comment"} or {@code "post"} to search only one
+	 *                 kind, or null for both
+	 * @param postId   restricts the search to one post and its comments, or null
+	 * @param byRecent whether to order hits newest first instead of by relevance
+	 * @param page     the zero-based page of hits
+	 * @param size     the number of hits per page
+	 * @return the hits of the requested page
+	 */
+	List<SearchHitDTO> search(String query, String type, Long postId, boolean byRecent, int page, int size);
+
+	/**
+	 * Rebuilds the search index from the database, replacing its contents.
+	 *
+	 * @return the number of documents indexed
+	 */
+	int rebuild();
+
+	/**
+	 * @return the number of documents in the search index
+	 */
+	int documentCount();
+}
@@ -0,0 +1,151 @@
+package com.intuit.comments.service.impl;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.intuit.comments.event.ActivityCountersFlushedEvent;
+import com.intuit.comments.event.ActivityCountersFlushedEvent.CommentTarget;
+import com.intuit.comments.repo.ActivityCounterRepository;
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coalesces activity on comments and posts (reaction counter changes and new
+ * comments) in memory and flushes it to the database in batches. A burst of
+ * reactions or replies on one comment or post becomes a single update of its
+ * counters and hot score per flush interval instead of one contended row
+ * update per write. Deltas are only recorded once the write itself has
+ * committed.
+ */
+@Component
+public class ActivityCounterBuffer {
+
+	private static final Logger logger = LoggerFactory.getLogger(ActivityCounterBuffer.class);
+
+	private final Map<CommentTarget, Delta> commentDeltas = new ConcurrentHashMap<>();
+	private final Map<Long, Delta> postDeltas = new ConcurrentHashMap<>();
+
+	@Autowired
+	ActivityCounterRepository activityCounterRepository;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	public void recordCommentReaction(Long commentId, Long postId, Delta delta) {
+		record(commentDeltas, new CommentTarget(commentId, postId), delta);
+	}
+
+	public void recordPostReaction(Long postId, Delta delta) {
+		record(postDeltas, postId, delta);
+	}
+
+	/**
+	 * Credits a new comment to its post and, for a reply, to its ancestors: the
+	 * parent gains a reply, every ancestor a descendant. The number of ancestors
+	 * is bounded by {@code comments.max-reply-depth}, enforced on write.
+	 *
+	 * @param postId the post the comment is on
+	 * @param path   the comment's materialized path, ancestor IDs root first
+	 */
+	public void recordComment(Long postId, String path) {
+		record(postDeltas, postId, Delta.comment());
+		if (path.isEmpty()) {
+			return;
+		}
+		String[] ancestors = path.split("/");
+		for (int i = 0; i < ancestors.length; i++) {
+			Delta delta = i == ancestors.length - 1 ? Delta.reply() : Delta.descendant();
+			record(commentDeltas, new CommentTarget(Long.valueOf(ancestors[i]), postId), delta);
+		}
+	}
+
+	/**
+	 * Writes all pending deltas to the database and publishes a
+	 * {@link ActivityCountersFlushedEvent} for what was written. Deltas that fail
+	 * to flush are merged back and retried on the next run.
+	 */
+	@Scheduled(fixedDelayString = "${comments.activity.flush-interval-ms:500}")
+	public void flush() {
+		flush(true);
+	}
+
+	/**
+	 * Writes the deltas still pending at shutdown. No event is published: its
+	 * listeners may already have been destroyed, and the rankings and caches
+	 * they maintain are discarded with the context anyway.
+	 */
+	@PreDestroy
+	void flushOnShutdown() {
+		flush(false);
+	}
+
+	private void flush(boolean publish) {
+		Instant now = Instant.now();
+		Map<CommentTarget, Delta> comments = flush(commentDeltas, batch -> activityCounterRepository
+				.applyCommentDeltas(batch.entrySet().stream()
+						.collect(Collectors.toMap(e -> e.getKey().commentId(), Map.Entry::getValue)), now),
+				"comment");
+		Map<Long, Delta> posts = flush(postDeltas, batch -> activityCounterRepository.applyPostDeltas(batch, now),
+				"post");
+		if (publish && (!comments.isEmpty() || !posts.isEmpty())) {
+			eventPublisher.publishEvent(new ActivityCountersFlushedEvent(comments, posts));
+		}
+	}
+
+	private <K> void record(Map<K, Delta> deltas, K targetId, Delta delta) {
+		if (delta.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					deltas.merge(targetId, delta, Delta::plus);
+				}
+			});
+		} else {
+			deltas.merge(targetId, delta, Delta::plus);
+		}
+	}
+
+	private <K> Map<K, Delta> flush(Map<K, Delta> deltas, Consumer<Map<K, Delta>> writer, String target) {
+		if (deltas.isEmpty()) {
+			return Map.of();
+		}
+		// remove() is atomic with merge(), so a delta recorded while draining is
+		// either part of this batch or left for the next one, never lost
+		Map<K, Delta> batch = new HashMap<>();
+		for (K targetId : deltas.keySet()) {
+			Delta delta = deltas.remove(targetId);
+			if (delta != null && !delta.isEmpty()) {
+				batch.put(targetId, delta);
+			}
+		}
+		if (batch.isEmpty()) {
+			return Map.of();
+		}
+		try {
+			writer.accept(batch);
+			logger.debug("Flushed activity counters for {} {}(s)", batch.size(), target);
+			return batch;
+		} catch (Exception e) {
+			logger.error("Failed to flush activity counters for {} {}(s), will retry", batch.size(), target, e);
+			batch.forEach((targetId, delta) -> deltas.merge(targetId, delta, Delta::plus));
+			return Map.of();
+		}
+	}
+}
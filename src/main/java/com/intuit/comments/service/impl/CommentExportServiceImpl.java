@@ -0,0 +1,190 @@
+package com.intuit.comments.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.service.CommentExportService;
+
+/**
+ * {@link CommentExportService} reading with a single forward-only JDBC query
+ * and writing with Jackson's streaming {@link JsonGenerator}. Reactions are
+ * joined into the same query, ordered so that the rows of one comment are
+ * adjacent; only the comment being written is held in memory.
+ * <p>
+ * The export runs in a read-only transaction: some drivers, PostgreSQL's among
+ * them, only honor the fetch size and stream rows from a cursor when
+ * auto-commit is off.
+ */
+@Service
+public class CommentExportServiceImpl implements CommentExportService {
+
+	private static final String SELECT_COMMENTS = "SELECT c.id, c.post_id, c.parent_id, c.user_id, u.username, "
+			+ "c.content, c.created_at, c.like_count, c.dislike_count, c.reply_count, c.descendant_count";
+
+	private static final String SELECT_REACTIONS = ", r.user_id AS reaction_user_id, r.type AS reaction_type, "
+			+ "r.created_at AS reaction_created_at";
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Value("${comments.export.fetch-size:500}")
+	int fetchSize;
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportComments(Long postId, Instant from, Instant to, boolean withReactions, OutputStream out)
+			throws IOException {
+		StringBuilder sql = new StringBuilder(SELECT_COMMENTS);
+		if (withReactions) {
+			sql.append(SELECT_REACTIONS);
+		}
+		sql.append(" FROM comments c JOIN users u ON u.id = c.user_id");
+		if (withReactions) {
+			sql.append(" LEFT JOIN comment_reactions r ON r.comment_id = c.id");
+		}
+		List<Object> params = new ArrayList<>();
+		sql.append(" WHERE 1 = 1");
+		if (postId != null) {
+			sql.append(" AND c.post_id = ?");
+			params.add(postId);
+		}
+		// Timestamps are stored as UTC date-times
+		if (from != null) {
+			sql.append(" AND c.created_at >= ?");
+			params.add(LocalDateTime.ofInstant(from, ZoneOffset.UTC));
+		}
+		if (to != null) {
+			sql.append(" AND c.created_at < ?");
+			params.add(LocalDateTime.ofInstant(to, ZoneOffset.UTC));
+		}
+		sql.append(withReactions ? " ORDER BY c.created_at, c.id, r.id" : " ORDER BY c.created_at, c.id");
+
+		try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+			gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			gen.setRootValueSeparator(null);
+			NdjsonWriter writer = new NdjsonWriter(gen, withReactions);
+			jdbcTemplate.query(connection -> {
+				PreparedStatement statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY);
+				statement.setFetchSize(fetchSize);
+				for (int i = 0; i < params.size(); i++) {
+					statement.setObject(i + 1, params.get(i));
+				}
+				return statement;
+			}, writer);
+			writer.finish();
+			return writer.comments;
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Writes one line per comment, appending each following row of the same
+	 * comment to its {@code reactions} array.
+	 */
+	private static final class NdjsonWriter implements RowCallbackHandler {
+
+		private final JsonGenerator gen;
+		private final boolean withReactions;
+		private long currentId = -1;
+		private long comments;
+
+		NdjsonWriter(JsonGenerator gen, boolean withReactions) {
+			this.gen = gen;
+			this.withReactions = withReactions;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			try {
+				long id = rs.getLong("id");
+				if (id != currentId) {
+					endComment();
+					startComment(id, rs);
+				}
+				if (withReactions && rs.getObject("reaction_user_id") != null) {
+					gen.writeStartObject();
+					gen.writeNumberField("userId", rs.getLong("reaction_user_id"));
+					gen.writeStringField("type", rs.getString("reaction_type"));
+					writeTimestamp("createdAt", rs.getObject("reaction_created_at", LocalDateTime.class));
+					gen.writeEndObject();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private void startComment(long id, ResultSet rs) throws SQLException, IOException {
+			currentId = id;
+			comments++;
+			gen.writeStartObject();
+			gen.writeNumberField("id", id);
+			gen.writeNumberField("postId", rs.getLong("post_id"));
+			Long parentId = rs.getObject("parent_id", Long.class);
+			if (parentId == null) {
+				gen.writeNullField("parentId");
+			} else {
+				gen.writeNumberField("parentId", parentId);
+			}
+			gen.writeNumberField("userId", rs.getLong("user_id"));
+			gen.writeStringField("username", rs.getString("username"));
+			gen.writeStringField("content", rs.getString("content"));
+			writeTimestamp("createdAt", rs.getObject("created_at", LocalDateTime.class));
+			gen.writeNumberField("likeCount", rs.getLong("like_count"));
+			gen.writeNumberField("dislikeCount", rs.getLong("dislike_count"));
+			gen.writeNumberField("replyCount", rs.getLong("reply_count"));
+			gen.writeNumberField("descendantCount", rs.getLong("descendant_count"));
+			if (withReactions) {
+				gen.writeArrayFieldStart("reactions");
+			}
+		}
+
+		private void endComment() throws IOException {
+			if (currentId < 0) {
+				return;
+			}
+			if (withReactions) {
+				gen.writeEndArray();
+			}
+			gen.writeEndObject();
+			gen.writeRaw('\n');
+		}
+
+		private void writeTimestamp(String fieldName, LocalDateTime value) throws IOException {
+			if (value == null) {
+				gen.writeNullField(fieldName);
+			} else {
+				gen.writeStringField(fieldName, DateTimeFormatter.ISO_INSTANT.format(value.toInstant(ZoneOffset.UTC)));
+			}
+		}
+
+		void finish() throws IOException {
+			endComment();
+			gen.flush();
+		}
+	}
+}
@@ -1,24 +1,57 @@
 package com.intuit.comments.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.intuit.comments.cache.CommentPageCache;
+import com.intuit.comments.cache.KnownIdCache;
+import com.intuit.comments.dto.AcceptedCommentDTO;
+import com.intuit.comments.dto.BulkCommentResultDTO;
 import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.CommentThreadDTO;
+import com.intuit.comments.dto.CursorPage;
+import com.intuit.comments.dto.KeysetCursor;
+import com.intuit.comments.dto.UserCommentDTO;
 import com.intuit.comments.entity.Comment;
+import com.intuit.comments.entity.Post;
+import com.intuit.comments.entity.User;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.exceptions.CommentNotFoundException;
 import com.intuit.comments.exceptions.CommentValidationException;
 import com.intuit.comments.exceptions.PostNotFoundException;
 import com.intuit.comments.exceptions.UserNotFoundException;
+import com.intuit.comments.ranking.CommentRankOrder;
+import com.intuit.comments.ranking.CommentReactionLeaderboard;
 import com.intuit.comments.repo.CommentRepository;
 import com.intuit.comments.repo.PostRepository;
 import com.intuit.comments.repo.UserRepository;
+import com.intuit.comments.repo.projection.CommentParentRow;
+import com.intuit.comments.repo.projection.CommentThreadRow;
+import com.intuit.comments.repo.projection.UserNameRow;
 import com.intuit.comments.service.CommentService;
+import com.intuit.comments.service.impl.CommentWriteBehindQueue.PendingComment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class CommentServiceImpl implements CommentService {
@@ -31,25 +64,146 @@ public class CommentServiceImpl implements CommentService {
 	PostRepository postRepository;
 	@Autowired
 	UserRepository userRepository;
+	@Autowired
+	CommentPageCache commentPageCache;
+	@Autowired
+	KnownIdCache knownIdCache;
+	@Autowired
+	CommentReactionLeaderboard commentReactionLeaderboard;
+	@Autowired(required = false)
+	CommentWriteBehindQueue commentWriteBehindQueue;
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	int batchSize;
+	@Value("${comments.max-reply-depth:32}")
+	int maxReplyDepth;
+	@Autowired
+	ActivityCounterBuffer activityCounterBuffer;
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
 
 	@Transactional
 	@Override
-	public Comment addComment(CommentDTO commentDTO) {
+	public CommentResponseDTO addComment(CommentDTO commentDTO) {
 		validateCommentDTO(commentDTO);
+		String username = knownIdCache.username(commentDTO.getUserId())
+				.orElseThrow(() -> new UserNotFoundException("User not found with ID: " + commentDTO.getUserId()));
+		if (!knownIdCache.postExists(commentDTO.getPostId())) {
+			throw new PostNotFoundException("Post not found with ID: " + commentDTO.getPostId());
+		}
 		Comment newComment = commentDtoToComment(commentDTO);
 		logger.debug("Adding comment: {}", newComment);
 
-		return postRepository.findById(commentDTO.getPostId()).map(post -> {
-			newComment.setPost(post);
-			return commentRepository.save(newComment);
-		}).orElseThrow(() -> new PostNotFoundException("Post not found with ID: " + commentDTO.getPostId()));
+		CommentResponseDTO addedComment = CommentResponseDTO.from(commentRepository.save(newComment), username);
+		activityCounterBuffer.recordComment(addedComment.postId(), newComment.getPath());
+		eventPublisher.publishEvent(CommentAddedEvent.of(addedComment));
+		return addedComment;
+	}
+
+	@Transactional
+	@Override
+	public BulkCommentResultDTO bulkAddComments(List<CommentDTO> commentDTOs) {
+		long start = System.nanoTime();
+		commentDTOs.forEach(this::validateCommentDTO);
+
+		// Resolve every referenced user, post and parent with one IN query each
+		Map<Long, String> usernames = userRepository.findNamesByIdIn(distinct(commentDTOs, CommentDTO::getUserId))
+				.stream().collect(Collectors.toMap(UserNameRow::getId, UserNameRow::getUsername));
+		Set<Long> postIds = new HashSet<>(postRepository.findExistingIds(distinct(commentDTOs, CommentDTO::getPostId)));
+		Set<Long> parentIds = distinct(commentDTOs, CommentDTO::getParentId);
+		Map<Long, CommentParentRow> parents = parentIds.isEmpty() ? Map.of()
+				: commentRepository.findParentsByIdIn(parentIds).stream()
+						.collect(Collectors.toMap(CommentParentRow::getId, Function.identity()));
+
+		List<CommentResponseDTO> added = new ArrayList<>(commentDTOs.size());
+		for (CommentDTO commentDTO : commentDTOs) {
+			String username = usernames.get(commentDTO.getUserId());
+			if (username == null) {
+				throw new UserNotFoundException("User not found with ID: " + commentDTO.getUserId());
+			}
+			if (!postIds.contains(commentDTO.getPostId())) {
+				throw new PostNotFoundException("Post not found with ID: " + commentDTO.getPostId());
+			}
+			Comment comment = new Comment();
+			comment.setContent(commentDTO.getContent());
+			comment.setUser(entityManager.getReference(User.class, commentDTO.getUserId()));
+			comment.setPost(entityManager.getReference(Post.class, commentDTO.getPostId()));
+			if (commentDTO.getParentId() != null) {
+				CommentParentRow parent = parents.get(commentDTO.getParentId());
+				if (parent == null) {
+					throw new CommentNotFoundException("Parent comment not found with ID: " + commentDTO.getParentId());
+				}
+				if (!parent.getPostId().equals(commentDTO.getPostId())) {
+					throw new CommentValidationException(
+							"Parent comment " + parent.getId() + " does not belong to post " + commentDTO.getPostId());
+				}
+				checkReplyDepth(parent.getDepth());
+				comment.setParent(entityManager.getReference(Comment.class, parent.getId()));
+				comment.setDepth(parent.getDepth() + 1);
+				comment.setPath(parent.getPath() + parent.getId() + "/");
+			}
+			commentRepository.save(comment);
+			added.add(CommentResponseDTO.from(comment, username));
+			activityCounterBuffer.recordComment(commentDTO.getPostId(), comment.getPath());
+			// Inserts are sent in JDBC batches on flush; clearing keeps the persistence context small
+			if (added.size() % batchSize == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		for (CommentResponseDTO comment : added) {
+			eventPublisher.publishEvent(CommentAddedEvent.of(comment));
+		}
+
+		long elapsedNanos = System.nanoTime() - start;
+		double rowsPerSecond = elapsedNanos == 0 ? 0 : added.size() * 1e9 / elapsedNanos;
+		logger.info("Bulk inserted {} comments in {} ms ({} rows/sec)", added.size(), elapsedNanos / 1_000_000,
+				Math.round(rowsPerSecond));
+		return new BulkCommentResultDTO(added.size(), added.stream().map(CommentResponseDTO::id).toList(),
+				elapsedNanos / 1_000_000, rowsPerSecond);
 	}
 
 	@Override
-	public List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable) {
+	public AcceptedCommentDTO acceptComment(CommentDTO commentDTO) {
+		if (commentWriteBehindQueue == null) {
+			throw new IllegalStateException("Comment write-behind is not enabled");
+		}
+		validateCommentDTO(commentDTO);
+		if (knownIdCache.username(commentDTO.getUserId()).isEmpty()) {
+			throw new UserNotFoundException("User not found with ID: " + commentDTO.getUserId());
+		}
+		if (!knownIdCache.postExists(commentDTO.getPostId())) {
+			throw new PostNotFoundException("Post not found with ID: " + commentDTO.getPostId());
+		}
+		int depth = 0;
+		if (commentDTO.getParentId() != null) {
+			// A pending parent is checked first: once written it is no longer pending
+			PendingComment parent = commentWriteBehindQueue.pending(commentDTO.getParentId())
+					.or(() -> commentRepository.findParentById(commentDTO.getParentId())
+							.map(row -> new PendingComment(row.getPostId(), row.getDepth())))
+					.orElseThrow(() -> new CommentNotFoundException("Parent comment not found with ID: " + commentDTO.getParentId()));
+			if (!parent.postId().equals(commentDTO.getPostId())) {
+				throw new CommentValidationException(
+						"Parent comment " + commentDTO.getParentId() + " does not belong to post " + commentDTO.getPostId());
+			}
+			checkReplyDepth(parent.depth());
+			depth = parent.depth() + 1;
+		}
+		return commentWriteBehindQueue.submit(commentDTO, depth);
+	}
+
+	@Override
+	public List<CommentResponseDTO> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable) {
 	    try {
 	        logger.debug("Finding comments for post ID: {} with pageable: {}", postId, pageable);
-	        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtDesc(postId, pageable).getContent();
+	        List<CommentResponseDTO> comments = commentPageCache.get(postId, "recent:" + pageable.getSort(),
+	                "page:" + pageable.getPageNumber(), pageable.getPageSize(),
+	                () -> List.copyOf(commentRepository.findByPostIdOrderByCreatedAtDesc(postId, pageable).getContent()));
 	        if (comments.isEmpty()) {
 	            logger.warn("No comments found for post ID: {}", postId);
 	        }
@@ -61,10 +215,10 @@ public class CommentServiceImpl implements CommentService {
 	}
 
 	@Override
-	public List<Comment> findByParentIdOrderByCreatedAtDesc(Long parentId, Pageable pageable) {
+	public List<CommentResponseDTO> findByParentIdOrderByCreatedAtDesc(Long parentId, Pageable pageable) {
 	    try {
 	        logger.debug("Finding comments for parent comment ID: {} with pageable: {}", parentId, pageable);
-	        List<Comment> comments = commentRepository.findByParentIdOrderByCreatedAtDesc(parentId, pageable).getContent();
+	        List<CommentResponseDTO> comments = commentRepository.findByParentIdOrderByCreatedAtDesc(parentId, pageable).getContent();
 	        if (comments.isEmpty()) {
 	            logger.warn("No comments found for parent comment ID: {}", parentId);
 	        }
@@ -75,19 +229,174 @@ public class CommentServiceImpl implements CommentService {
 	    }
 	}
 
+	@Override
+	public List<CommentResponseDTO> findTopCommentsByPost(Long postId, CommentRankOrder order, Pageable pageable) {
+	    try {
+	        logger.debug("Finding top comments for post ID: {} by {} with pageable: {}", postId, order, pageable);
+	        List<CommentResponseDTO> comments = commentPageCache.get(postId, "top:" + order.getParam(),
+	                "page:" + pageable.getPageNumber(), pageable.getPageSize(),
+	                () -> List.copyOf(switch (order) {
+	                    case LIKES -> commentRepository.findTopCommentsByPost(postId, pageable);
+	                    case REPLIES -> commentRepository.findTopCommentsByReplyCount(postId, pageable);
+	                    case SCORE -> commentRepository.findTopCommentsByRankScore(postId, pageable);
+	                }));
+	        if (comments.isEmpty()) {
+	            logger.warn("No comments found for post ID: {}", postId);
+	        }
+	        return comments;
+	    } catch (Exception e) {
+	        logger.error("Error occurred while finding top comments for post ID: {}", postId, e);
+	        throw new RuntimeException("Error occurred while finding top comments for post ID: " + postId, e);
+	    }
+	}
+
+	@Override
+	public List<CommentResponseDTO> findTopReplies(Long parentId, CommentRankOrder order, Pageable pageable) {
+		logger.debug("Finding top replies for parent comment ID: {} by {} with pageable: {}", parentId, order, pageable);
+		return switch (order) {
+			case LIKES -> commentRepository.findTopRepliesByNetLikes(parentId, pageable);
+			case REPLIES -> commentRepository.findTopRepliesByReplyCount(parentId, pageable);
+			case SCORE -> commentRepository.findTopRepliesByRankScore(parentId, pageable);
+		};
+	}
+
+	@Override
+	public List<CommentResponseDTO> findHotCommentsByPost(Long postId, Pageable pageable) {
+		logger.debug("Finding hot comments for post ID: {} with pageable: {}", postId, pageable);
+		return commentPageCache.get(postId, "hot", "page:" + pageable.getPageNumber(), pageable.getPageSize(),
+				() -> List.copyOf(commentRepository.findHotCommentsByPost(postId, pageable)));
+	}
+
+	@Override
+	public CursorPage<CommentResponseDTO> findRecentByPost(Long postId, String cursor, int size) {
+		logger.debug("Finding comments for post ID: {} after cursor: {}", postId, cursor);
+		return commentPageCache.get(postId, "recent", cursor == null ? "" : cursor, size,
+				() -> loadRecentByPost(postId, cursor, size));
+	}
+
+	private CursorPage<CommentResponseDTO> loadRecentByPost(Long postId, String cursor, int size) {
+		Pageable limit = PageRequest.ofSize(size + 1);
+		List<CommentResponseDTO> rows;
+		if (cursor == null) {
+			rows = commentRepository.findRecentByPost(postId, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.decode(cursor);
+			rows = commentRepository.findRecentByPostBefore(postId, position.createdAt(), position.id(), limit);
+		}
+		return CursorPage.of(rows, size, comment -> new KeysetCursor(comment.createdAt(), comment.id()));
+	}
+
+	@Override
+	public CursorPage<CommentResponseDTO> findRecentReplies(Long parentId, String cursor, int size) {
+		logger.debug("Finding replies for parent comment ID: {} after cursor: {}", parentId, cursor);
+		Pageable limit = PageRequest.ofSize(size + 1);
+		List<CommentResponseDTO> rows;
+		if (cursor == null) {
+			rows = commentRepository.findRecentReplies(parentId, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.decode(cursor);
+			rows = commentRepository.findRecentRepliesBefore(parentId, position.createdAt(), position.id(), limit);
+		}
+		return CursorPage.of(rows, size, comment -> new KeysetCursor(comment.createdAt(), comment.id()));
+	}
+
+	@Override
+	public CursorPage<UserCommentDTO> findRecentByUser(Long userId, boolean repliesOnly, String cursor, int size) {
+		logger.debug("Finding comments by user ID: {} (replies only: {}) after cursor: {}", userId, repliesOnly, cursor);
+		Pageable limit = PageRequest.ofSize(size + 1);
+		List<UserCommentDTO> rows;
+		if (cursor == null) {
+			rows = commentRepository.findRecentByUser(userId, repliesOnly, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.decode(cursor);
+			rows = commentRepository.findRecentByUserBefore(userId, repliesOnly, position.createdAt(), position.id(),
+					limit);
+		}
+		return CursorPage.of(rows, size, comment -> new KeysetCursor(comment.createdAt(), comment.id()));
+	}
+
+	@Override
+	public List<CommentThreadDTO> findThreadByPost(Long postId, int maxDepth, int fanOut) {
+		logger.debug("Finding thread for post ID: {} with max depth: {} and fan-out: {}", postId, maxDepth, fanOut);
+		return commentPageCache.get(postId, "thread", "depth:" + maxDepth, fanOut,
+				() -> loadThreadByPost(postId, maxDepth, fanOut));
+	}
+
+	private List<CommentThreadDTO> loadThreadByPost(Long postId, int maxDepth, int fanOut) {
+		List<CommentThreadRow> rows = commentRepository.findThreadRows(postId, maxDepth, fanOut);
+
+		// Rows arrive parents first, so one pass attaches every reply to its parent.
+		// Replies whose parent was cut by the fan-out limit are dropped with it.
+		Map<Long, CommentThreadDTO> nodes = new HashMap<>(rows.size() * 2);
+		List<CommentThreadDTO> roots = new ArrayList<>();
+		for (CommentThreadRow row : rows) {
+			CommentThreadDTO node = CommentThreadDTO.from(row);
+			if (row.getParentId() == null) {
+				roots.add(node);
+			} else {
+				CommentThreadDTO parent = nodes.get(row.getParentId());
+				if (parent == null) {
+					continue;
+				}
+				parent.replies().add(node);
+			}
+			nodes.put(node.id(), node);
+		}
+		return roots;
+	}
+
+	@Override
+	public List<CommentResponseDTO> findMostLikedComments(int limit) {
+		logger.debug("Finding the {} most liked comments", limit);
+		return commentReactionLeaderboard.mostLiked(limit);
+	}
+
+	@Override
+	public List<CommentResponseDTO> findMostDislikedComments(int limit) {
+		logger.debug("Finding the {} most disliked comments", limit);
+		return commentReactionLeaderboard.mostDisliked(limit);
+	}
+
+	/**
+	 * Maps a validated comment to a new entity. Post, user and parent are set
+	 * as uninitialized references; only the parent's position in the thread is
+	 * read, and a parent on a different post is rejected.
+	 */
 	private Comment commentDtoToComment(CommentDTO commentDTO) {
-        Comment comment = new Comment();
-        comment.setContent(commentDTO.getContent());
-
-        if (commentDTO.getParentId() != null) {
-            comment.setParent(commentRepository.findById(commentDTO.getParentId())
-                    .orElseThrow(() -> new RuntimeException("Parent comment not found with ID: " + commentDTO.getParentId())));
-        }
-
-        comment.setUser(userRepository.findById(commentDTO.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + commentDTO.getUserId())));
-        return comment;
-    }
+		Comment comment = new Comment();
+		comment.setContent(commentDTO.getContent());
+		comment.setPost(postRepository.getReferenceById(commentDTO.getPostId()));
+		comment.setUser(userRepository.getReferenceById(commentDTO.getUserId()));
+
+		if (commentDTO.getParentId() != null) {
+			CommentParentRow parent = commentRepository.findParentById(commentDTO.getParentId())
+					.orElseThrow(() -> new CommentNotFoundException("Parent comment not found with ID: " + commentDTO.getParentId()));
+			if (!parent.getPostId().equals(commentDTO.getPostId())) {
+				throw new CommentValidationException(
+						"Parent comment " + parent.getId() + " does not belong to post " + commentDTO.getPostId());
+			}
+			checkReplyDepth(parent.getDepth());
+			comment.setParent(commentRepository.getReferenceById(parent.getId()));
+			comment.setDepth(parent.getDepth() + 1);
+			comment.setPath(parent.getPath() + parent.getId() + "/");
+		}
+		return comment;
+	}
+
+	/**
+	 * Rejects a reply that would be nested deeper than the configured limit.
+	 * Every new reply is credited to each of its ancestors, so the limit also
+	 * bounds the counter updates a single comment causes.
+	 */
+	private void checkReplyDepth(int parentDepth) {
+		if (parentDepth + 1 > maxReplyDepth) {
+			throw new CommentValidationException("Replies cannot be nested more than " + maxReplyDepth + " levels deep");
+		}
+	}
+
+	private static Set<Long> distinct(List<CommentDTO> commentDTOs, Function<CommentDTO, Long> id) {
+		return commentDTOs.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+	}
 
 	private void validateCommentDTO(CommentDTO commentDTO) {
 		if (commentDTO == null || !StringUtils.hasText(commentDTO.getContent())) {
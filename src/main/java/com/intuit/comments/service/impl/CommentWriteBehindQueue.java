@@ -0,0 +1,341 @@
+package com.intuit.comments.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.intuit.comments.dto.AcceptedCommentDTO;
+import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.exceptions.WriteQueueFullException;
+import com.intuit.comments.repo.CommentRepository;
+import com.intuit.comments.repo.CommentWriteRepository;
+import com.intuit.comments.repo.CommentWriteRepository.NewComment;
+import com.intuit.comments.repo.PostRepository;
+import com.intuit.comments.repo.UserRepository;
+import com.intuit.comments.repo.projection.CommentParentRow;
+import com.intuit.comments.repo.projection.UserNameRow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Accept-then-persist path for new comments, enabled with
+ * {@code comments.write-behind.enabled=true}.
+ * <p>
+ * An accepted comment gets its final ID from a preallocated block of the
+ * comment sequence and is placed on one of several bounded queues, chosen by
+ * post ID. Each queue has a single writer thread that inserts what has
+ * accumulated in one transaction, so comments of the same post are persisted
+ * in the order they were accepted. When a queue is full the comment is
+ * rejected instead of blocking the request thread.
+ * <p>
+ * Users, posts and parent comments are resolved by the writer, one query per
+ * batch. A batch that fails is retried and then written comment by comment.
+ * Comments whose references turn out to be invalid, or that cannot be written
+ * on their own, are dropped and counted. Accepted comments that have not been
+ * written yet are lost if the process dies; on a normal shutdown the queues
+ * are drained first.
+ */
+@Component
+@ConditionalOnProperty(name = "comments.write-behind.enabled", havingValue = "true")
+public class CommentWriteBehindQueue {
+
+	private static final Logger logger = LoggerFactory.getLogger(CommentWriteBehindQueue.class);
+
+	@Value("${comments.write-behind.partitions:4}")
+	int partitions;
+
+	@Value("${comments.write-behind.queue-capacity:10000}")
+	int queueCapacity;
+
+	@Value("${comments.write-behind.batch-size:500}")
+	int batchSize;
+
+	@Value("${comments.write-behind.retry-attempts:3}")
+	int retryAttempts;
+
+	@Value("${comments.write-behind.retry-backoff-ms:200}")
+	long retryBackoffMs;
+
+	@Autowired
+	CommentWriteRepository commentWriteRepository;
+	@Autowired
+	CommentRepository commentRepository;
+	@Autowired
+	PostRepository postRepository;
+	@Autowired
+	UserRepository userRepository;
+	@Autowired
+	ActivityCounterBuffer activityCounterBuffer;
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	/**
+	 * Post and depth of an accepted comment that is not written yet.
+	 */
+	public record PendingComment(Long postId, int depth) {
+	}
+
+	// Every accepted comment until it is written or dropped, so replies to
+	// comments that are not persisted yet can be validated on accept
+	private final Map<Long, PendingComment> pendingComments = new ConcurrentHashMap<>();
+
+	private List<BlockingQueue<AcceptedCommentDTO>> queues;
+	private List<Lock> queueLocks;
+	private List<Thread> writers;
+	private volatile boolean running;
+
+	// Next free ID and the end of the current block. Explicit locks rather than
+	// synchronized, which would pin a virtual thread while it queries the sequence.
+	private final Lock idLock = new ReentrantLock();
+	private long nextId;
+	private long idBlockEnd = -1;
+
+	private Counter rejected;
+	private Counter dropped;
+
+	@PostConstruct
+	void start() {
+		queues = new ArrayList<>(partitions);
+		queueLocks = new ArrayList<>(partitions);
+		writers = new ArrayList<>(partitions);
+		running = true;
+		for (int i = 0; i < partitions; i++) {
+			BlockingQueue<AcceptedCommentDTO> queue = new ArrayBlockingQueue<>(queueCapacity);
+			Thread writer = new Thread(() -> drain(queue), "comment-writer-" + i);
+			queues.add(queue);
+			queueLocks.add(new ReentrantLock());
+			writers.add(writer);
+			writer.start();
+		}
+		Gauge.builder("comments.write_behind.pending", () -> queues.stream().mapToInt(BlockingQueue::size).sum())
+				.description("Accepted comments waiting to be written").register(meterRegistry);
+		rejected = Counter.builder("comments.write_behind.rejected")
+				.description("Comments rejected because the write queue was full").register(meterRegistry);
+		dropped = Counter.builder("comments.write_behind.dropped")
+				.description("Accepted comments that could not be written").register(meterRegistry);
+		logger.info("Comment write-behind enabled with {} partitions of {} comments", partitions, queueCapacity);
+	}
+
+	/**
+	 * Assigns the comment its ID and queues it for writing.
+	 *
+	 * @param commentDTO a validated comment
+	 * @param depth      the comment's depth below its top-level comment
+	 * @return the accepted comment
+	 * @throws WriteQueueFullException if the queue of the comment's post is full
+	 */
+	public AcceptedCommentDTO submit(CommentDTO commentDTO, int depth) {
+		int partition = Math.floorMod(commentDTO.getPostId().hashCode(), partitions);
+		BlockingQueue<AcceptedCommentDTO> queue = queues.get(partition);
+		Lock lock = queueLocks.get(partition);
+		// Assigning the ID under the queue lock keeps IDs in queue order per post
+		lock.lock();
+		try {
+			if (!running || queue.remainingCapacity() == 0) {
+				rejected.increment();
+				throw new WriteQueueFullException("Too many pending comments, please retry later");
+			}
+			AcceptedCommentDTO accepted = new AcceptedCommentDTO(nextId(), commentDTO.getPostId(),
+					commentDTO.getParentId(), commentDTO.getUserId(), commentDTO.getContent(), LocalDateTime.now());
+			pendingComments.put(accepted.id(), new PendingComment(accepted.postId(), depth));
+			queue.add(accepted);
+			return accepted;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param commentId the ID of an accepted comment
+	 * @return the post and depth of the comment if it is accepted but not
+	 *         written yet
+	 */
+	public Optional<PendingComment> pending(Long commentId) {
+		return Optional.ofNullable(pendingComments.get(commentId));
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		for (Thread writer : writers) {
+			writer.join(TimeUnit.SECONDS.toMillis(30));
+		}
+	}
+
+	private long nextId() {
+		idLock.lock();
+		try {
+			if (nextId > idBlockEnd) {
+				idBlockEnd = commentWriteRepository.nextIdBlock();
+				nextId = idBlockEnd - CommentWriteRepository.ID_BLOCK_SIZE + 1;
+			}
+			return nextId++;
+		} finally {
+			idLock.unlock();
+		}
+	}
+
+	private void drain(BlockingQueue<AcceptedCommentDTO> queue) {
+		while (running || !queue.isEmpty()) {
+			try {
+				AcceptedCommentDTO first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				List<AcceptedCommentDTO> batch = new ArrayList<>(batchSize);
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Writes a batch in one transaction, retrying with a growing pause to ride
+	 * out transient failures. A batch that still fails is written one comment
+	 * per transaction, so a single bad row only costs itself.
+	 */
+	private void write(List<AcceptedCommentDTO> batch) {
+		try {
+			for (int attempt = 1; attempt <= retryAttempts; attempt++) {
+				try {
+					int written = transactionTemplate.execute(status -> insert(batch));
+					logger.debug("Wrote {} of {} accepted comments", written, batch.size());
+					return;
+				} catch (Exception e) {
+					logger.warn("Failed to write {} accepted comments (attempt {} of {})", batch.size(), attempt,
+							retryAttempts, e);
+				}
+				if (attempt < retryAttempts && !pause(retryBackoffMs * attempt)) {
+					break;
+				}
+			}
+			if (batch.size() == 1) {
+				logger.error("Dropping accepted comment {} that could not be written", batch.get(0).id());
+				dropped.increment();
+				return;
+			}
+			logger.warn("Writing {} accepted comments one by one", batch.size());
+			for (AcceptedCommentDTO comment : batch) {
+				try {
+					transactionTemplate.execute(status -> insert(List.of(comment)));
+				} catch (Exception e) {
+					logger.error("Failed to write accepted comment {}", comment.id(), e);
+					dropped.increment();
+				}
+			}
+		} finally {
+			batch.forEach(comment -> pendingComments.remove(comment.id()));
+		}
+	}
+
+	private static boolean pause(long millis) {
+		try {
+			Thread.sleep(millis);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private int insert(List<AcceptedCommentDTO> batch) {
+		Map<Long, String> usernames = userRepository.findNamesByIdIn(distinct(batch, AcceptedCommentDTO::userId))
+				.stream().collect(Collectors.toMap(UserNameRow::getId, UserNameRow::getUsername));
+		Set<Long> postIds = new HashSet<>(postRepository.findExistingIds(distinct(batch, AcceptedCommentDTO::postId)));
+		Set<Long> parentIds = distinct(batch, AcceptedCommentDTO::parentId);
+		Map<Long, NewComment> rows = new HashMap<>();
+		Map<Long, CommentParentRow> storedParents = parentIds.isEmpty() ? Map.of()
+				: commentRepository.findParentsByIdIn(parentIds).stream()
+						.collect(Collectors.toMap(CommentParentRow::getId, Function.identity()));
+
+		List<NewComment> valid = new ArrayList<>(batch.size());
+		List<CommentResponseDTO> added = new ArrayList<>(batch.size());
+		for (AcceptedCommentDTO comment : batch) {
+			String username = usernames.get(comment.userId());
+			if (username == null || !postIds.contains(comment.postId())) {
+				drop(comment, "unknown user or post");
+				continue;
+			}
+			int depth = 0;
+			String path = "";
+			if (comment.parentId() != null) {
+				// The parent was either written before or is earlier in this batch
+				NewComment batchParent = rows.get(comment.parentId());
+				CommentParentRow storedParent = storedParents.get(comment.parentId());
+				if (batchParent != null && batchParent.postId().equals(comment.postId())) {
+					depth = batchParent.depth() + 1;
+					path = batchParent.path() + batchParent.id() + "/";
+				} else if (storedParent != null && storedParent.getPostId().equals(comment.postId())) {
+					depth = storedParent.getDepth() + 1;
+					path = storedParent.getPath() + storedParent.getId() + "/";
+				} else {
+					drop(comment, "unknown parent");
+					continue;
+				}
+			}
+			NewComment row = new NewComment(comment.id(), comment.postId(), comment.parentId(), comment.userId(),
+					comment.content(), comment.createdAt(), depth, path);
+			rows.put(row.id(), row);
+			valid.add(row);
+			added.add(new CommentResponseDTO(row.id(), row.postId(), row.parentId(), row.userId(), username,
+					row.content(), row.createdAt(), 0, 0, row.depth(), 0, 0));
+		}
+		if (valid.isEmpty()) {
+			return 0;
+		}
+		commentWriteRepository.insertAll(valid);
+		for (NewComment row : valid) {
+			activityCounterBuffer.recordComment(row.postId(), row.path());
+		}
+		for (CommentResponseDTO comment : added) {
+			eventPublisher.publishEvent(CommentAddedEvent.of(comment));
+		}
+		return valid.size();
+	}
+
+	private void drop(AcceptedCommentDTO comment, String reason) {
+		logger.warn("Dropping accepted comment {}: {}", comment.id(), reason);
+		dropped.increment();
+	}
+
+	private static Set<Long> distinct(List<AcceptedCommentDTO> batch, Function<AcceptedCommentDTO, Long> id) {
+		return batch.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+	}
+}
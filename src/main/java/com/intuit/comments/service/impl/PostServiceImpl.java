@@ -5,13 +5,21 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import com.intuit.comments.dto.CursorPage;
+import com.intuit.comments.dto.KeysetCursor;
+import com.intuit.comments.dto.PostActivityDTO;
 import com.intuit.comments.dto.PostDTO;
+import com.intuit.comments.dto.PostResponseDTO;
 import com.intuit.comments.entity.Post;
+import com.intuit.comments.event.PostCreatedEvent;
 import com.intuit.comments.exceptions.UserNotFoundException;
+import com.intuit.comments.ranking.PostActivityLeaderboard;
 import com.intuit.comments.repo.PostRepository;
 import com.intuit.comments.repo.UserRepository;
 import com.intuit.comments.service.PostService;
@@ -27,14 +35,22 @@ public class PostServiceImpl implements PostService {
 	@Autowired
 	UserRepository userRepository;
 
+	@Autowired
+	PostActivityLeaderboard postActivityLeaderboard;
+
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
 	@Override
-	public Post createPost(PostDTO postDTO) {
+	public PostResponseDTO createPost(PostDTO postDTO) {
 		validatePostDTO(postDTO);
 		Post newPost = postDtoToPost(postDTO);
 
 		return userRepository.findById(postDTO.getUserId()).map(user -> {
 			newPost.setUser(user);
-			return postRepository.save(newPost);
+			PostResponseDTO createdPost = PostResponseDTO.from(postRepository.save(newPost));
+			eventPublisher.publishEvent(new PostCreatedEvent(createdPost));
+			return createdPost;
 		}).orElseThrow(() -> {
 			logger.error("User not found with ID: {}", postDTO.getUserId());
 			return new UserNotFoundException("User not found with ID: " + postDTO.getUserId());
@@ -42,16 +58,18 @@ public class PostServiceImpl implements PostService {
 	}
 	
 	@Override
-	public List<Post> getPostsByUser(Long userId, Pageable pageable) {
-	    logger.info("Fetching posts for user with ID: {} and page number: {}", userId, pageable.getPageNumber());
+	public List<PostResponseDTO> getPostsByUser(Long userId, Pageable pageable) {
+	    logger.debug("Fetching posts for user with ID: {} and page number: {}", userId, pageable.getPageNumber());
 	    
 	    try {
-	        // Ensure pageNumber starts from 0
-	        int offset = (pageable.getPageNumber() - 1) * pageable.getPageSize(); // Adjust if pageNumber starts at 1
+	        // Page numbers are zero-based
+	        long offset = pageable.getOffset();
 	        int limit = pageable.getPageSize();
 	        
-	        List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId, offset, limit);
-	        logger.info("Successfully fetched {} posts for user with ID: {}", posts.size(), userId);
+	        List<PostResponseDTO> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId, offset, limit).stream()
+	                .map(PostResponseDTO::from)
+	                .toList();
+	        logger.debug("Successfully fetched {} posts for user with ID: {}", posts.size(), userId);
 	        return posts;
 	    } catch (Exception e) {
 	        logger.error("An error occurred while fetching posts for user with ID: {}", userId, e);
@@ -59,6 +77,32 @@ public class PostServiceImpl implements PostService {
 	    }
 	}
 
+	@Override
+	public CursorPage<PostResponseDTO> getRecentPostsByUser(Long userId, String cursor, int size) {
+		logger.debug("Fetching posts for user with ID: {} after cursor: {}", userId, cursor);
+		Pageable limit = PageRequest.ofSize(size + 1);
+		List<PostResponseDTO> rows;
+		if (cursor == null) {
+			rows = postRepository.findRecentByUser(userId, limit);
+		} else {
+			KeysetCursor position = KeysetCursor.decode(cursor);
+			rows = postRepository.findRecentByUserBefore(userId, position.createdAtInstant(), position.id(), limit);
+		}
+		return CursorPage.of(rows, size, post -> KeysetCursor.of(post.createdAt(), post.id()));
+	}
+
+	@Override
+	public List<PostActivityDTO> getTopPostsByActivity(int offset, int limit) {
+		logger.debug("Fetching top posts by activity with offset: {} and limit: {}", offset, limit);
+		return postActivityLeaderboard.top(offset, limit);
+	}
+
+	@Override
+	public List<PostResponseDTO> getHotPosts(Pageable pageable) {
+		logger.debug("Fetching hot posts with pageable: {}", pageable);
+		return postRepository.findHotPosts(pageable);
+	}
+
 	private Post postDtoToPost(PostDTO postDTO) {
 		Post post = new Post();
 		post.setContent(postDTO.getContent());
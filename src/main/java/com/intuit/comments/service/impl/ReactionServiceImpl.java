@@ -0,0 +1,141 @@
+package com.intuit.comments.service.impl;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.intuit.comments.dto.LikeDislikeDTO;
+import com.intuit.comments.dto.PostLikeDislikeDTO;
+import com.intuit.comments.dto.ReactionResultDTO;
+import com.intuit.comments.entity.ReactionType;
+import com.intuit.comments.exceptions.CommentNotFoundException;
+import com.intuit.comments.exceptions.PostNotFoundException;
+import com.intuit.comments.exceptions.UserNotFoundException;
+import com.intuit.comments.repo.CommentReactionRepository;
+import com.intuit.comments.repo.CommentRepository;
+import com.intuit.comments.repo.PostReactionRepository;
+import com.intuit.comments.repo.PostRepository;
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+import com.intuit.comments.repo.UserRepository;
+import com.intuit.comments.service.ReactionService;
+
+@Service
+public class ReactionServiceImpl implements ReactionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReactionServiceImpl.class);
+
+	@Autowired
+	CommentReactionRepository commentReactionRepository;
+	@Autowired
+	PostReactionRepository postReactionRepository;
+	@Autowired
+	CommentRepository commentRepository;
+	@Autowired
+	PostRepository postRepository;
+	@Autowired
+	UserRepository userRepository;
+	@Autowired
+	ActivityCounterBuffer activityCounterBuffer;
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Override
+	public ReactionResultDTO reactToComment(LikeDislikeDTO likeDislikeDTO) {
+		return inTransactionRetryingOnce(() -> recordCommentReaction(likeDislikeDTO));
+	}
+
+	@Override
+	public ReactionResultDTO reactToPost(PostLikeDislikeDTO postLikeDislikeDTO) {
+		return inTransactionRetryingOnce(() -> recordPostReaction(postLikeDislikeDTO));
+	}
+
+	/**
+	 * Runs a reaction in its own transaction. A concurrent first reaction of the
+	 * same user fails the insert on the unique constraint rather than being
+	 * counted twice; the other reaction has committed by then, so one retry finds
+	 * its row and either leaves it as it is or updates it in place.
+	 */
+	private ReactionResultDTO inTransactionRetryingOnce(Supplier<ReactionResultDTO> reaction) {
+		try {
+			return transactionTemplate.execute(status -> reaction.get());
+		} catch (DataIntegrityViolationException e) {
+			logger.debug("Concurrent first reaction, retrying: {}", e.getMessage());
+			return transactionTemplate.execute(status -> reaction.get());
+		}
+	}
+
+	private ReactionResultDTO recordCommentReaction(LikeDislikeDTO likeDislikeDTO) {
+		Long commentId = likeDislikeDTO.getCommentId();
+		Long userId = likeDislikeDTO.getUserId();
+		Long postId = commentRepository.findPostIdById(commentId)
+				.orElseThrow(() -> new CommentNotFoundException("Comment not found with ID: " + commentId));
+		validateUser(userId);
+
+		ReactionType requested = ReactionType.of(likeDislikeDTO.getIsLike());
+		Optional<ReactionType> previous = commentReactionRepository.findTypeForUpdate(commentId, userId)
+				.map(ReactionType::fromDbValue);
+		if (previous.isPresent() && previous.get() == requested) {
+			logger.debug("User {} already reacted {} on comment {}", userId, requested, commentId);
+			return new ReactionResultDTO(commentId, userId, requested, false);
+		}
+
+		if (previous.isPresent()) {
+			commentReactionRepository.updateType(commentId, userId, requested.getDbValue());
+		} else {
+			commentReactionRepository.insert(commentId, userId, requested.getDbValue());
+		}
+		activityCounterBuffer.recordCommentReaction(commentId, postId, delta(previous, requested));
+		return new ReactionResultDTO(commentId, userId, requested, true);
+	}
+
+	private ReactionResultDTO recordPostReaction(PostLikeDislikeDTO postLikeDislikeDTO) {
+		Long postId = postLikeDislikeDTO.getPostId();
+		Long userId = postLikeDislikeDTO.getUserId();
+		if (!postRepository.existsById(postId)) {
+			throw new PostNotFoundException("Post not found with ID: " + postId);
+		}
+		validateUser(userId);
+
+		ReactionType requested = ReactionType.of(postLikeDislikeDTO.getIsLike());
+		Optional<ReactionType> previous = postReactionRepository.findTypeForUpdate(postId, userId)
+				.map(ReactionType::fromDbValue);
+		if (previous.isPresent() && previous.get() == requested) {
+			logger.debug("User {} already reacted {} on post {}", userId, requested, postId);
+			return new ReactionResultDTO(postId, userId, requested, false);
+		}
+
+		if (previous.isPresent()) {
+			postReactionRepository.updateType(postId, userId, requested.getDbValue());
+		} else {
+			postReactionRepository.insert(postId, userId, requested.getDbValue());
+		}
+		activityCounterBuffer.recordPostReaction(postId, delta(previous, requested));
+		return new ReactionResultDTO(postId, userId, requested, true);
+	}
+
+	private void validateUser(Long userId) {
+		if (!userRepository.existsById(userId)) {
+			throw new UserNotFoundException("User not found with ID: " + userId);
+		}
+	}
+
+	/**
+	 * Counter change caused by replacing the previous reaction (if any) with the
+	 * requested one.
+	 */
+	private static Delta delta(Optional<ReactionType> previous, ReactionType requested) {
+		long likes = requested == ReactionType.LIKE ? 1 : 0;
+		long dislikes = requested == ReactionType.DISLIKE ? 1 : 0;
+		if (previous.isPresent()) {
+			likes -= previous.get() == ReactionType.LIKE ? 1 : 0;
+			dislikes -= previous.get() == ReactionType.DISLIKE ? 1 : 0;
+		}
+		return Delta.reactions(likes, dislikes);
+	}
+}
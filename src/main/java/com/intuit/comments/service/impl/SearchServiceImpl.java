@@ -0,0 +1,380 @@
+package com.intuit.comments.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.PostResponseDTO;
+import com.intuit.comments.dto.SearchHitDTO;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.event.PostCreatedEvent;
+import com.intuit.comments.search.SearchDocuments;
+import com.intuit.comments.service.SearchService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link SearchService} backed by an embedded Lucene index. New comments and
+ * posts are added from their {@link CommentAddedEvent} and
+ * {@link PostCreatedEvent} once committed, and become searchable at the next
+ * near-real-time refresh, without waiting for a commit to disk. Commits to
+ * disk happen on a separate, longer interval.
+ * <p>
+ * The index lives in {@code comments.search.index-dir}, or in memory when
+ * none is configured. An empty index, which an in-memory one always is, is
+ * built from the database on startup. An on-disk index is reused as it is if
+ * the application last shut down cleanly, and rebuilt otherwise, since
+ * documents indexed after its last commit are lost; setting
+ * {@code comments.search.rebuild-on-startup} rebuilds it in any case.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+	/** Deepest hit that can be paged to. */
+	static final int MAX_HITS = 1000;
+
+	private static final int REBUILD_FETCH_SIZE = 1000;
+
+	private static final Map<String, Float> FIELD_WEIGHTS = Map.of(SearchDocuments.CONTENT_FIELD, 1f,
+			SearchDocuments.TITLE_FIELD, 2f);
+
+	/** Commit user data key, "true" only in the commit written on shutdown. */
+	private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+
+	private static final Sort BY_RECENT = new Sort(
+			new SortField(SearchDocuments.CREATED_AT_FIELD, SortField.Type.LONG, true));
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Value("${comments.search.index-dir:}")
+	String indexDir;
+
+	@Value("${comments.search.rebuild-on-startup:false}")
+	boolean rebuildOnStartup;
+
+	private final Analyzer analyzer = new StandardAnalyzer();
+	private Directory directory;
+	private IndexWriter writer;
+	private SearcherManager searcherManager;
+	private boolean closedCleanly;
+
+	/**
+	 * Writer of the index being rebuilt, which documents indexed from events
+	 * are also written to, or null when no rebuild is running.
+	 */
+	private volatile IndexWriter rebuildWriter;
+
+	/**
+	 * Held exclusively while a rebuilt index replaces the live one, so neither
+	 * a refresh nor an event sees it half replaced.
+	 */
+	private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+	@PostConstruct
+	void open() throws IOException {
+		directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+		writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+		closedCleanly = isCleanShutdown(writer.getLiveCommitData());
+		// Until the next clean shutdown, a restart finds the index marked as not closed cleanly
+		writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "false").entrySet());
+		writer.commit();
+		searcherManager = new SearcherManager(writer, null);
+		logger.info("Opened search index in {}", indexDir.isBlank() ? "memory" : indexDir);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	void rebuildOnStartup() {
+		if (rebuildOnStartup || writer.getDocStats().numDocs == 0) {
+			rebuild();
+		} else if (!closedCleanly) {
+			logger.warn("Search index was not closed cleanly and may miss recent documents, rebuilding it");
+			rebuild();
+		}
+	}
+
+	private static boolean isCleanShutdown(Iterable<Map.Entry<String, String>> commitData) {
+		if (commitData != null) {
+			for (Map.Entry<String, String> entry : commitData) {
+				if (CLEAN_SHUTDOWN.equals(entry.getKey())) {
+					return Boolean.parseBoolean(entry.getValue());
+				}
+			}
+		}
+		return false;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentAdded(CommentAddedEvent event) {
+		CommentResponseDTO comment = event.comment();
+		index(SearchDocuments.COMMENT, comment.id(), SearchDocuments.comment(comment.id(), comment.postId(),
+				comment.parentId(), comment.userId(), comment.username(), comment.content(), event.createdAt()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostCreated(PostCreatedEvent event) {
+		PostResponseDTO post = event.post();
+		index(SearchDocuments.POST, post.id(), SearchDocuments.post(post.id(), post.userId(), post.username(),
+				post.title(), post.content(), post.createdAt()));
+	}
+
+	private void index(String type, Long id, Document doc) {
+		swapLock.readLock().lock();
+		try {
+			writer.updateDocument(SearchDocuments.key(type, id), doc);
+			IndexWriter staged = rebuildWriter;
+			if (staged != null) {
+				staged.updateDocument(SearchDocuments.key(type, id), doc);
+			}
+		} catch (IOException e) {
+			logger.error("Failed to index {} {}", type, id, e);
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Makes recently indexed documents visible to searches.
+	 */
+	@Scheduled(fixedDelayString = "${comments.search.refresh-interval-ms:1000}")
+	public void refresh() {
+		swapLock.readLock().lock();
+		try {
+			searcherManager.maybeRefresh();
+		} catch (IOException e) {
+			logger.error("Failed to refresh the search index", e);
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Persists indexed documents, so an on-disk index survives a restart.
+	 */
+	@Scheduled(fixedDelayString = "${comments.search.commit-interval-ms:30000}")
+	public void commit() {
+		try {
+			if (writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} catch (IOException e) {
+			logger.error("Failed to commit the search index", e);
+		}
+	}
+
+	@PreDestroy
+	void close() throws IOException {
+		writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "true").entrySet());
+		writer.commit();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+
+	@Override
+	public List<SearchHitDTO> search(String query, String type, Long postId, boolean byRecent, int page, int size) {
+		SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+		parser.setDefaultOperator(BooleanClause.Occur.MUST);
+		Query text = parser.parse(query);
+		if (text == null) {
+			return List.of();
+		}
+		BooleanQuery.Builder builder = new BooleanQuery.Builder().add(text, BooleanClause.Occur.MUST);
+		if (type != null) {
+			builder.add(new TermQuery(new Term(SearchDocuments.TYPE_FIELD, type)), BooleanClause.Occur.FILTER);
+		}
+		if (postId != null) {
+			builder.add(LongPoint.newExactQuery(SearchDocuments.POST_ID_FIELD, postId), BooleanClause.Occur.FILTER);
+		}
+
+		long from = (long) page * size;
+		int to = (int) Math.min(from + size, MAX_HITS);
+		if (from >= to) {
+			return List.of();
+		}
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				TopDocs topDocs = byRecent ? searcher.search(builder.build(), to, BY_RECENT, true)
+						: searcher.search(builder.build(), to);
+				StoredFields storedFields = searcher.storedFields();
+				List<SearchHitDTO> hits = new ArrayList<>(size);
+				for (int i = (int) from; i < topDocs.scoreDocs.length; i++) {
+					ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+					hits.add(SearchDocuments.hit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+				}
+				return hits;
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Search failed for query: " + query, e);
+		}
+	}
+
+	/**
+	 * Replaces the index with every comment and post in the database, streamed
+	 * with a forward-only cursor. The new index is built in a separate
+	 * directory while searches keep being served from the live one, and then
+	 * replaces it in a single step. Documents indexed from events while the
+	 * rebuild runs go to both, so none are lost in the swap.
+	 */
+	@Override
+	public synchronized int rebuild() {
+		long start = System.nanoTime();
+		Path stagingPath = null;
+		Directory staging = null;
+		try {
+			if (indexDir.isBlank()) {
+				staging = new ByteBuffersDirectory();
+			} else {
+				stagingPath = Files.createTempDirectory("search-rebuild");
+				staging = FSDirectory.open(stagingPath);
+			}
+			int count;
+			IndexWriter staged = new IndexWriter(staging, new IndexWriterConfig(analyzer));
+			try {
+				rebuildWriter = staged;
+				count = indexAll(staged);
+				swapLock.writeLock().lock();
+				try {
+					rebuildWriter = null;
+					staged.close();
+					writer.deleteAll();
+					writer.addIndexes(staging);
+					writer.commit();
+					searcherManager.maybeRefreshBlocking();
+				} finally {
+					swapLock.writeLock().unlock();
+				}
+			} finally {
+				rebuildWriter = null;
+				staged.close();
+			}
+			logger.info("Rebuilt search index with {} documents in {} ms", count,
+					(System.nanoTime() - start) / 1_000_000);
+			return count;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to rebuild the search index", e);
+		} finally {
+			deleteStaging(staging, stagingPath);
+		}
+	}
+
+	private int indexAll(IndexWriter target) {
+		int[] count = new int[1];
+		// Creation times are stored as UTC date-times
+		stream("SELECT c.id, c.post_id, c.parent_id, c.user_id, u.username, c.content, c.created_at "
+				+ "FROM comments c JOIN users u ON u.id = c.user_id", rs -> {
+					long id = rs.getLong("id");
+					Long parentId = rs.getObject("parent_id", Long.class);
+					Instant createdAt = rs.getObject("created_at", LocalDateTime.class).toInstant(ZoneOffset.UTC);
+					add(target, SearchDocuments.COMMENT, id, SearchDocuments.comment(id, rs.getLong("post_id"), parentId,
+							rs.getLong("user_id"), rs.getString("username"), rs.getString("content"), createdAt));
+					count[0]++;
+				});
+		stream("SELECT p.id, p.user_id, u.username, p.title, p.content, p.created_at "
+				+ "FROM posts p JOIN users u ON u.id = p.user_id", rs -> {
+					long id = rs.getLong("id");
+					Instant createdAt = rs.getObject("created_at", LocalDateTime.class).toInstant(ZoneOffset.UTC);
+					add(target, SearchDocuments.POST, id, SearchDocuments.post(id, rs.getLong("user_id"),
+							rs.getString("username"), rs.getString("title"), rs.getString("content"), createdAt));
+					count[0]++;
+				});
+		return count[0];
+	}
+
+	private static void add(IndexWriter target, String type, Long id, Document doc) {
+		try {
+			target.updateDocument(SearchDocuments.key(type, id), doc);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to index " + type + " " + id, e);
+		}
+	}
+
+	private static void deleteStaging(Directory staging, Path stagingPath) {
+		try {
+			if (staging != null) {
+				staging.close();
+			}
+			if (stagingPath != null) {
+				try (Stream<Path> files = Files.list(stagingPath)) {
+					for (Path file : (Iterable<Path>) files::iterator) {
+						Files.delete(file);
+					}
+				}
+				Files.delete(stagingPath);
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to delete the staging search index in {}", stagingPath, e);
+		}
+	}
+
+	private interface RowIndexer {
+		void index(ResultSet rs) throws SQLException;
+	}
+
+	private void stream(String sql, RowIndexer indexer) {
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(REBUILD_FETCH_SIZE);
+			return statement;
+		}, indexer::index);
+	}
+
+	@Override
+	public int documentCount() {
+		return writer.getDocStats().numDocs;
+	}
+}
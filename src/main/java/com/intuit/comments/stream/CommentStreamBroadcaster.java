@@ -0,0 +1,388 @@
+package com.intuit.comments.stream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.cache.KnownIdCache;
+import com.intuit.comments.dto.CommentCountDeltaDTO;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.event.ActivityCountersFlushedEvent;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.exceptions.PostNotFoundException;
+import com.intuit.comments.exceptions.TooManySubscribersException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Fans out new comments and comment counter changes to server-sent event
+ * subscribers of their post.
+ * <p>
+ * Streams are written with servlet non-blocking IO: an idle subscriber holds a
+ * connection but no thread, and no write ever blocks. Each event is encoded
+ * once and offered to a bounded buffer per subscriber; a small pool of sender
+ * threads copies buffers to the connections for as long as they accept data,
+ * and the container calls back when a stalled connection can take more. A
+ * subscriber is dropped, and its stream closed, when its buffer is full or its
+ * connection has not accepted data within the write timeout. The client is
+ * expected to reload the comments and subscribe again.
+ * <p>
+ * New comments are sent as {@code comment} events once committed. Reaction
+ * and reply count changes are sent as {@code counts} events of
+ * {@link CommentCountDeltaDTO} when the activity counters are flushed.
+ */
+@Component
+public class CommentStreamBroadcaster {
+
+	private static final Logger logger = LoggerFactory.getLogger(CommentStreamBroadcaster.class);
+
+	static final String COMMENT_EVENT = "comment";
+	static final String COUNTS_EVENT = "counts";
+
+	private static final byte[] HEARTBEAT = ":keepalive\n\n".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] CONNECTED = ":connected\n\n".getBytes(StandardCharsets.UTF_8);
+
+	@Value("${comments.stream.buffer-size:64}")
+	int bufferSize;
+
+	@Value("${comments.stream.max-subscribers:20000}")
+	int maxSubscribers;
+
+	@Value("${comments.stream.timeout:30m}")
+	Duration timeout;
+
+	@Value("${comments.stream.write-timeout:10s}")
+	Duration writeTimeout;
+
+	@Value("${comments.stream.sender-threads:4}")
+	int senderThreads;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	KnownIdCache knownIdCache;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	private final Map<Long, Set<Subscriber>> subscribersByPost = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final AtomicLong eventIds = new AtomicLong();
+
+	private ExecutorService senders;
+	private Counter dropped;
+
+	/**
+	 * One open stream. All access to the output stream goes through
+	 * {@link #drain()}, which runs on one thread at a time.
+	 */
+	private final class Subscriber implements WriteListener, AsyncListener {
+
+		final Long postId;
+		final AsyncContext asyncContext;
+		final ServletOutputStream out;
+		final BlockingQueue<byte[]> buffer;
+		// Set once the subscriber is unregistered; the next drain completes the stream
+		final AtomicBoolean closed = new AtomicBoolean();
+		// Drain requests not yet served; only the caller that raises it from zero drains
+		final AtomicInteger drainRequests = new AtomicInteger();
+		// When the connection last refused data that was waiting, or 0 if it is keeping up
+		volatile long stalledSince;
+		private boolean completed;
+
+		Subscriber(Long postId, AsyncContext asyncContext, ServletOutputStream out) {
+			this.postId = postId;
+			this.asyncContext = asyncContext;
+			this.out = out;
+			this.buffer = new ArrayBlockingQueue<>(bufferSize);
+		}
+
+		void drain() {
+			if (drainRequests.getAndIncrement() != 0) {
+				return;
+			}
+			int requests = 1;
+			do {
+				drainOnce();
+				requests = drainRequests.addAndGet(-requests);
+			} while (requests != 0);
+		}
+
+		private void drainOnce() {
+			if (completed) {
+				return;
+			}
+			if (closed.get()) {
+				complete();
+				return;
+			}
+			try {
+				boolean wrote = false;
+				while (!buffer.isEmpty()) {
+					// isReady() registers for onWritePossible when it returns false
+					if (!out.isReady()) {
+						if (stalledSince == 0) {
+							stalledSince = System.nanoTime();
+						}
+						return;
+					}
+					out.write(buffer.poll());
+					wrote = true;
+				}
+				if (wrote && out.isReady()) {
+					out.flush();
+				}
+				stalledSince = 0;
+			} catch (IOException | IllegalStateException e) {
+				logger.debug("Failed to write to comment stream subscriber of post ID: {}", postId, e);
+				unregister(this);
+				complete();
+			}
+		}
+
+		private void complete() {
+			completed = true;
+			buffer.clear();
+			try {
+				asyncContext.complete();
+			} catch (IllegalStateException e) {
+				// Already completed by the container
+			}
+		}
+
+		@Override
+		public void onWritePossible() {
+			drain();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			logger.debug("Comment stream of post ID: {} failed", postId, t);
+			unregister(this);
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			unregister(this);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			unregister(this);
+			send(this);
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			unregister(this);
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+
+	@PostConstruct
+	void start() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "comment-stream-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+		senders = Executors.newFixedThreadPool(senderThreads, threadFactory);
+		Gauge.builder("comments.stream.subscribers", subscriberCount, AtomicInteger::get)
+				.description("Open comment stream subscriptions").register(meterRegistry);
+		dropped = Counter.builder("comments.stream.dropped")
+				.description("Comment stream subscribers dropped for falling behind").register(meterRegistry);
+	}
+
+	@PreDestroy
+	void stop() {
+		subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+			unregister(subscriber);
+			send(subscriber);
+		}));
+		senders.shutdown();
+	}
+
+	/**
+	 * Turns the request into a stream of the new comments and counter changes
+	 * of a post. The response is written by the broadcaster from then on.
+	 *
+	 * @param postId   the post to follow
+	 * @param request  the subscribing request, put into asynchronous mode
+	 * @param response the response to stream the events to
+	 * @throws PostNotFoundException       if there is no such post
+	 * @throws TooManySubscribersException if the subscriber limit is reached
+	 * @throws IOException                 if the response cannot be opened
+	 */
+	public void subscribe(Long postId, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		if (!knownIdCache.postExists(postId)) {
+			throw new PostNotFoundException("Post not found with ID: " + postId);
+		}
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			throw new TooManySubscribersException("Too many comment stream subscribers");
+		}
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		AsyncContext asyncContext = request.startAsync(request, response);
+		asyncContext.setTimeout(timeout.toMillis());
+		Subscriber subscriber = new Subscriber(postId, asyncContext, response.getOutputStream());
+		asyncContext.addListener(subscriber);
+		// Sends the headers right away: the container calls onWritePossible once the
+		// listener is set. Only then may other threads drain, so it is registered after.
+		subscriber.buffer.offer(CONNECTED);
+		subscriber.out.setWriteListener(subscriber);
+		subscribersByPost.compute(postId, (id, subscribers) -> {
+			Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+			set.add(subscriber);
+			return set;
+		});
+		if (subscriber.closed.get()) {
+			// Failed before it was registered
+			subscribersByPost.computeIfPresent(postId, (id, subscribers) -> {
+				subscribers.remove(subscriber);
+				return subscribers.isEmpty() ? null : subscribers;
+			});
+		}
+	}
+
+	/**
+	 * @return the number of open subscriptions
+	 */
+	public int subscriberCount() {
+		return subscriberCount.get();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentAdded(CommentAddedEvent event) {
+		CommentResponseDTO comment = event.comment();
+		publish(comment.postId(), COMMENT_EVENT, comment);
+	}
+
+	@EventListener
+	public void onActivityCountersFlushed(ActivityCountersFlushedEvent event) {
+		event.comments().forEach((target, delta) -> publish(target.postId(), COUNTS_EVENT,
+				new CommentCountDeltaDTO(target.commentId(), delta.likes(), delta.dislikes(), delta.comments(),
+						delta.descendants())));
+	}
+
+	/**
+	 * Sends a comment line to every subscriber, so connections that were closed
+	 * without notice are detected and released.
+	 */
+	@Scheduled(fixedDelayString = "${comments.stream.heartbeat-interval-ms:15000}")
+	public void sendHeartbeat() {
+		subscribersByPost.values()
+				.forEach(subscribers -> subscribers.forEach(subscriber -> offer(subscriber, HEARTBEAT)));
+	}
+
+	/**
+	 * Drops subscribers whose connection has not accepted data within the write
+	 * timeout.
+	 */
+	@Scheduled(fixedDelayString = "${comments.stream.stall-check-interval-ms:1000}")
+	public void dropStalledSubscribers() {
+		long now = System.nanoTime();
+		subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+			long stalledSince = subscriber.stalledSince;
+			if (stalledSince != 0 && now - stalledSince > writeTimeout.toNanos()) {
+				drop(subscriber, "write timeout");
+			}
+		}));
+	}
+
+	private void publish(Long postId, String name, Object data) {
+		Set<Subscriber> subscribers = subscribersByPost.get(postId);
+		if (subscribers == null || subscribers.isEmpty()) {
+			return;
+		}
+		byte[] event;
+		try {
+			event = ("id:" + eventIds.incrementAndGet() + "\nevent:" + name + "\ndata:"
+					+ objectMapper.writeValueAsString(data) + "\n\n").getBytes(StandardCharsets.UTF_8);
+		} catch (JsonProcessingException e) {
+			logger.error("Failed to serialize {} event for post ID: {}", name, postId, e);
+			return;
+		}
+		subscribers.forEach(subscriber -> offer(subscriber, event));
+	}
+
+	private void offer(Subscriber subscriber, byte[] event) {
+		if (!subscriber.buffer.offer(event)) {
+			drop(subscriber, "buffer full");
+			return;
+		}
+		send(subscriber);
+	}
+
+	private void drop(Subscriber subscriber, String reason) {
+		if (unregister(subscriber)) {
+			logger.debug("Dropping comment stream subscriber of post ID: {}: {}", subscriber.postId, reason);
+			dropped.increment();
+			send(subscriber);
+		}
+	}
+
+	private boolean unregister(Subscriber subscriber) {
+		if (!subscriber.closed.compareAndSet(false, true)) {
+			return false;
+		}
+		subscriberCount.decrementAndGet();
+		subscribersByPost.computeIfPresent(subscriber.postId, (id, subscribers) -> {
+			subscribers.remove(subscriber);
+			return subscribers.isEmpty() ? null : subscribers;
+		});
+		return true;
+	}
+
+	private void send(Subscriber subscriber) {
+		try {
+			senders.execute(subscriber::drain);
+		} catch (RejectedExecutionException e) {
+			// Shutting down
+		}
+	}
+}
@@ -13,11 +13,14 @@ INSERT INTO posts (user_id, title, content) VALUES
 (4, 'Thoughts by Kavish', 'Kavish shares his thoughts here');
 
 -- Insert comments
-INSERT INTO comments (post_id, parent_id, user_id, content) VALUES
-(1, NULL, 2, 'Great post!'),
-(1, NULL, 3, 'Thanks for sharing'),
-(2, NULL, 1, 'Interesting thoughts'),
-(1, 1, 4, 'I agree with Jane');
+INSERT INTO comments (id, post_id, parent_id, user_id, content, depth, path) VALUES
+(1, 1, NULL, 2, 'Great post!', 0, ''),
+(2, 1, NULL, 3, 'Thanks for sharing', 0, ''),
+(3, 2, NULL, 1, 'Interesting thoughts', 0, ''),
+(4, 1, 1, 4, 'I agree with Jane', 1, '1/');
+
+-- The first ID block handed out is the 50 IDs up to the sequence value, so start above the seed rows
+ALTER SEQUENCE comments_seq RESTART WITH 101;
 
 
 -- Insert reactions for comments
@@ -27,9 +30,35 @@ INSERT INTO comment_reactions (comment_id, user_id, type) VALUES
 (3, 4, 'dislike'),
 (4, 2, 'like');
 
+-- Backfill materialized reaction counters for comments
+UPDATE comments c SET
+    like_count = (SELECT COUNT(*) FROM comment_reactions r WHERE r.comment_id = c.id AND r.type = 'like'),
+    dislike_count = (SELECT COUNT(*) FROM comment_reactions r WHERE r.comment_id = c.id AND r.type = 'dislike');
+UPDATE comments SET net_likes = like_count - dislike_count;
+
+-- Backfill reply counts; descendants are the comments whose path runs through this one
+UPDATE comments c SET
+    reply_count = (SELECT COUNT(*) FROM comments r WHERE r.parent_id = c.id),
+    descendant_count = (SELECT COUNT(*) FROM comments d WHERE d.path LIKE CONCAT(c.path, c.id, '/%'));
+UPDATE comments SET rank_score = net_likes + 2 * reply_count;
+
+-- Backfill hot scores (HotScore: 12 hour half-life from 2024-01-01 UTC, a reply weighs two likes),
+-- crediting the seed likes and replies at creation time
+UPDATE comments c SET hot_score = LN(2) / 43200 * DATEDIFF('SECOND', TIMESTAMP '2024-01-01 00:00:00', c.created_at)
+    + LN(1 + c.like_count + 2 * (SELECT COUNT(*) FROM comments r WHERE r.parent_id = c.id));
+
 -- Insert reactions for posts
 INSERT INTO post_reactions (post_id, user_id, type) VALUES
 (1, 4, 'like'),
 (1, 2, 'dislike'),
 (2, 3, 'like'),
 (3, 1, 'dislike');
+
+-- Backfill materialized reaction counters for posts
+UPDATE posts p SET
+    like_count = (SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.type = 'like'),
+    dislike_count = (SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.type = 'dislike');
+
+-- Backfill post hot scores, crediting seed likes and comments at creation time
+UPDATE posts p SET hot_score = LN(2) / 43200 * DATEDIFF('SECOND', TIMESTAMP '2024-01-01 00:00:00', p.created_at)
+    + LN(1 + p.like_count + 2 * (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id));
@@ -11,25 +11,66 @@ CREATE TABLE posts (
     title TEXT,
     content TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP AT TIME ZONE 'UTC',
+    like_count BIGINT NOT NULL DEFAULT 0,
+    dislike_count BIGINT NOT NULL DEFAULT 0,
+    -- Time-decayed activity score, see HotScore
+    hot_score DOUBLE PRECISION NOT NULL DEFAULT 0,
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- Serves the global hot posts feed as an index scan
+CREATE INDEX idx_posts_hot_score ON posts(hot_score);
+-- Keyset pagination of an author's posts, newest first
+CREATE INDEX idx_posts_user_created ON posts(user_id, created_at, id);
+
+
+-- Comment IDs are handed out by the application in blocks of 50 (Hibernate pooled optimizer),
+-- so inserts must always supply an ID from this sequence rather than rely on a column default
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE comments (
-    id SERIAL PRIMARY KEY,
+    id INTEGER PRIMARY KEY,
     post_id INTEGER NOT NULL,
     parent_id INTEGER,
     user_id INTEGER NOT NULL,
     content TEXT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    like_count BIGINT NOT NULL DEFAULT 0,
+    dislike_count BIGINT NOT NULL DEFAULT 0,
+    net_likes BIGINT NOT NULL DEFAULT 0,
+    hot_score DOUBLE PRECISION NOT NULL DEFAULT 0,
+    -- Direct replies and all replies below this comment, maintained with the activity counters
+    reply_count BIGINT NOT NULL DEFAULT 0,
+    descendant_count BIGINT NOT NULL DEFAULT 0,
+    -- Net likes plus two per direct reply, see CommentRankOrder
+    rank_score BIGINT NOT NULL DEFAULT 0,
+    -- Materialized path: depth 0 for top-level comments, path lists ancestor IDs root first ("1/4/")
+    depth INTEGER NOT NULL DEFAULT 0,
+    path VARCHAR(4000) NOT NULL DEFAULT '',
     FOREIGN KEY (post_id) REFERENCES posts(id),
     FOREIGN KEY (parent_id) REFERENCES comments(id),
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
 -- Adding indexes to improve retrieval speed
-CREATE INDEX idx_comments_post_id ON comments(post_id);
-CREATE INDEX idx_comments_parent_id ON comments(parent_id);
+-- Keyset pagination of recent comments and replies; also serve lookups by post_id / parent_id
+CREATE INDEX idx_comments_post_created ON comments(post_id, created_at, id);
+CREATE INDEX idx_comments_parent_created ON comments(parent_id, created_at, id);
+CREATE INDEX idx_comments_user_created ON comments(user_id, created_at, id);
+-- Exports of all comments in a time range
+CREATE INDEX idx_comments_created ON comments(created_at, id);
+-- Serve top-level comments per post (parent_id IS NULL) and top replies per parent, for each
+-- ranking, as index range scans over the materialized counters
+CREATE INDEX idx_comments_post_net_likes ON comments(post_id, parent_id, net_likes);
+CREATE INDEX idx_comments_post_reply_count ON comments(post_id, parent_id, reply_count);
+CREATE INDEX idx_comments_post_rank_score ON comments(post_id, parent_id, rank_score);
+CREATE INDEX idx_comments_post_hot_score ON comments(post_id, parent_id, hot_score);
+CREATE INDEX idx_comments_parent_net_likes ON comments(parent_id, net_likes);
+CREATE INDEX idx_comments_parent_reply_count ON comments(parent_id, reply_count);
+CREATE INDEX idx_comments_parent_rank_score ON comments(parent_id, rank_score);
+-- Rebuild the global most liked / most disliked leaderboards without aggregating reactions
+CREATE INDEX idx_comments_like_count ON comments(like_count);
+CREATE INDEX idx_comments_dislike_count ON comments(dislike_count);
 
 
 CREATE TYPE reaction_type AS ENUM ('like', 'dislike');
@@ -41,7 +82,8 @@ CREATE TABLE post_reactions (
     type reaction_type NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (post_id) REFERENCES posts(id),
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT uq_post_reactions_post_user UNIQUE (post_id, user_id)
 );
 
 CREATE TABLE comment_reactions (
@@ -51,12 +93,11 @@ CREATE TABLE comment_reactions (
     type reaction_type NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (comment_id) REFERENCES comments(id),
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT uq_comment_reactions_comment_user UNIQUE (comment_id, user_id)
 );
 
--- Adding indexes to improve retrieval speed
-CREATE INDEX idx_post_reactions_post_id ON post_reactions(post_id);
-CREATE INDEX idx_comment_reactions_comment_id ON comment_reactions(comment_id);
+-- One reaction per user and target; the unique indexes also serve lookups by target id
 
 
 
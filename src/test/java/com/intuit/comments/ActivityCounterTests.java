@@ -0,0 +1,38 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+
+/**
+ * Buffered activity counters reach the comments table once per delta, even
+ * when a flush fails and is retried.
+ */
+class ActivityCounterTests extends IntegrationTest {
+
+	@Test
+	void failedFlushIsAppliedOnceOnRetry() {
+		Long postId = newPost();
+		Long first = addComment(postId, null).id();
+		Long second = addComment(postId, null).id();
+		activityCounterBuffer.flush();
+		// Only the second comment's row fails, but the whole flush must roll back with it
+		jdbcTemplate.execute("ALTER TABLE comments ADD CONSTRAINT chk_flush_failure CHECK (like_count < 100 OR id <> "
+				+ second + ")");
+		try {
+			activityCounterBuffer.recordCommentReaction(first, postId, Delta.reactions(5, 0));
+			activityCounterBuffer.recordCommentReaction(second, postId, Delta.reactions(500, 0));
+			activityCounterBuffer.flush();
+			assertEquals(0, counter("like_count", first));
+			assertEquals(0, counter("like_count", second));
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE comments DROP CONSTRAINT chk_flush_failure");
+		}
+
+		activityCounterBuffer.flush();
+		assertEquals(5, counter("like_count", first));
+		assertEquals(500, counter("like_count", second));
+	}
+}
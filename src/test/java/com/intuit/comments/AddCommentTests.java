@@ -0,0 +1,85 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.metrics.RequestQueryProfile;
+
+/**
+ * Adding a comment checks its user and post against the known IDs and writes
+ * it with references, so neither is loaded; unknown IDs and a parent on
+ * another post are rejected.
+ */
+class AddCommentTests extends IntegrationTest {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void commentOnNewPostLoadsNeitherUserNorPost() {
+		Long postId = newPost();
+		CommentResponseDTO parent = addComment(postId, null);
+
+		RequestQueryProfile.begin();
+		CommentResponseDTO reply;
+		Map<String, Integer> shapes;
+		try {
+			reply = addComment(postId, parent.id());
+		} finally {
+			shapes = RequestQueryProfile.end().shapes();
+		}
+		// The parent's position in the thread is the only row read; IDs come from the sequence
+		assertEquals(1, shapes.keySet().stream().filter(sql -> sql.startsWith("select") && !sql.contains("comments_seq"))
+				.count(), shapes.toString());
+		assertTrue(shapes.keySet().stream().noneMatch(sql -> sql.contains(" from users") || sql.contains(" from posts")),
+				shapes.toString());
+		assertEquals(postId, reply.postId());
+		assertEquals(parent.id(), reply.parentId());
+		assertEquals(1, reply.depth());
+		assertEquals("Aatish", reply.username());
+	}
+
+	@Test
+	void unknownUserOrPostIs404() throws Exception {
+		Long postId = newPost();
+
+		CommentDTO unknownUser = comment(postId, null, "Unknown user");
+		unknownUser.setUserId(999_999L);
+		postComment(unknownUser).andExpect(status().isNotFound());
+		postComment(comment(999_999L, null, "Unknown post")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void unknownParentIs404() throws Exception {
+		postComment(comment(newPost(), 999_999L, "Unknown parent")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void parentOnAnotherPostIs400() throws Exception {
+		CommentResponseDTO parent = addComment(newPost(), null);
+
+		postComment(comment(newPost(), parent.id(), "Wrong post")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void validCommentIsAdded() throws Exception {
+		postComment(comment(newPost(), null, "Created")).andExpect(status().isOk());
+	}
+
+	private ResultActions postComment(CommentDTO comment) throws Exception {
+		return mockMvc.perform(post("/api/comments").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(comment)));
+	}
+}
@@ -0,0 +1,101 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.dto.BulkCommentResultDTO;
+import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.exceptions.CommentNotFoundException;
+import com.intuit.comments.exceptions.CommentValidationException;
+import com.intuit.comments.exceptions.PostNotFoundException;
+import com.intuit.comments.exceptions.UserNotFoundException;
+
+/**
+ * Bulk inserts write every comment exactly once on either side of a JDBC
+ * batch boundary, and reject the whole call if any comment refers to an
+ * unknown user, post or parent.
+ */
+class BulkCommentTests extends IntegrationTest {
+
+	// spring.jpa.properties.hibernate.jdbc.batch_size
+	private static final int BATCH_SIZE = 50;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, BATCH_SIZE - 1, BATCH_SIZE, BATCH_SIZE + 1, 2 * BATCH_SIZE + 1 })
+	void everyCommentIsWrittenOnce(int count) {
+		Long postId = newPost();
+		Long parentId = addComment(postId, null).id();
+		List<CommentDTO> comments = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			// Every other comment replies to an existing comment
+			comments.add(comment(postId, i % 2 == 0 ? null : parentId, "Bulk " + i));
+		}
+
+		BulkCommentResultDTO result = commentService.bulkAddComments(comments);
+
+		assertEquals(count, result.inserted());
+		assertEquals(count, new HashSet<>(result.ids()).size());
+		for (int i = 0; i < count; i++) {
+			Long id = result.ids().get(i);
+			assertEquals("Bulk " + i, jdbcTemplate.queryForObject("SELECT content FROM comments WHERE id = ?",
+					String.class, id));
+			assertEquals(i % 2, jdbcTemplate.queryForObject("SELECT depth FROM comments WHERE id = ?", Integer.class, id));
+		}
+		activityCounterBuffer.flush();
+		assertEquals(count / 2, jdbcTemplate.queryForObject("SELECT reply_count FROM comments WHERE id = ?", Long.class,
+				parentId));
+	}
+
+	@Test
+	void unknownReferenceRejectsWholeCall() {
+		Long postId = newPost();
+		List<CommentDTO> comments = new ArrayList<>();
+		for (int i = 0; i < BATCH_SIZE + 1; i++) {
+			comments.add(comment(postId, null, "Valid " + i));
+		}
+
+		assertThrows(PostNotFoundException.class, () -> commentService.bulkAddComments(with(comments,
+				comment(999_999L, null, "Unknown post"))));
+		assertThrows(CommentNotFoundException.class, () -> commentService.bulkAddComments(with(comments,
+				comment(postId, 999_999L, "Unknown parent"))));
+		CommentDTO unknownUser = comment(postId, null, "Unknown user");
+		unknownUser.setUserId(999_999L);
+		assertThrows(UserNotFoundException.class, () -> commentService.bulkAddComments(with(comments, unknownUser)));
+		Long otherParent = addComment(newPost(), null).id();
+		assertThrows(CommentValidationException.class, () -> commentService.bulkAddComments(with(comments,
+				comment(postId, otherParent, "Parent on another post"))));
+
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ?", Long.class,
+				postId));
+	}
+
+	@Test
+	void unknownReferenceIs404() throws Exception {
+		List<CommentDTO> comments = List.of(comment(newPost(), null, "Valid"), comment(999_999L, null, "Unknown post"));
+
+		mockMvc.perform(post("/api/comments/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(comments))).andExpect(status().isNotFound());
+	}
+
+	private static List<CommentDTO> with(List<CommentDTO> comments, CommentDTO last) {
+		List<CommentDTO> all = new ArrayList<>(comments);
+		all.add(last);
+		return all;
+	}
+}
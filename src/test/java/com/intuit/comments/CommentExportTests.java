@@ -0,0 +1,112 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.service.CommentExportService;
+
+/**
+ * Exports filter on and write creation times as UTC instants, matching how
+ * they are stored, oldest first, optionally gzip-compressed.
+ */
+class CommentExportTests extends IntegrationTest {
+
+	@Autowired
+	private CommentExportService commentExportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void rangeIsInterpretedInUtc() throws IOException {
+		Long postId = newPost();
+		List<Long> ids = insertHourly(postId);
+
+		List<JsonNode> exported = parse(export(postId, Instant.parse("2025-01-01T11:00:00Z"),
+				Instant.parse("2025-01-01T12:00:00Z")));
+
+		assertEquals(1, exported.size());
+		assertEquals(ids.get(1), exported.get(0).get("id").asLong());
+		assertEquals("2025-01-01T11:00:00Z", exported.get(0).get("createdAt").asText());
+	}
+
+	@Test
+	void unboundedRangeExportsOldestFirst() throws IOException {
+		Long postId = newPost();
+		List<Long> ids = insertHourly(postId);
+
+		assertEquals(ids, parse(export(postId, null, null)).stream().map(comment -> comment.get("id").asLong()).toList());
+	}
+
+	@Test
+	void gzipExportIsStreamedFromTheEndpoint() throws Exception {
+		Long postId = newPost();
+		List<Long> ids = insertHourly(postId);
+
+		MvcResult started = mockMvc.perform(get("/api/comments/export").param("postId", postId.toString())
+				.param("gzip", "true")).andExpect(request().asyncStarted()).andReturn();
+		byte[] body = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsByteArray();
+
+		String ndjson;
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		assertEquals(ids, parse(ndjson).stream().map(comment -> comment.get("id").asLong()).toList());
+	}
+
+	@Test
+	void emptyOrReversedRangeIs400() throws Exception {
+		mockMvc.perform(get("/api/comments/export")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/comments/export").param("from", "2025-01-01T12:00:00Z")
+				.param("to", "2025-01-01T11:00:00Z")).andExpect(status().isBadRequest());
+	}
+
+	/**
+	 * @return the IDs of comments created at 10, 11 and 12 o'clock UTC
+	 */
+	private List<Long> insertHourly(Long postId) {
+		List<Long> ids = new ArrayList<>();
+		for (int hour = 10; hour <= 12; hour++) {
+			ids.add(insertComment(postId, LocalDateTime.of(2025, 1, 1, hour, 0)));
+		}
+		return ids;
+	}
+
+	private String export(Long postId, Instant from, Instant to) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long count = commentExportService.exportComments(postId, from, to, false, out);
+		String ndjson = out.toString(StandardCharsets.UTF_8);
+		assertEquals(count, ndjson.lines().count());
+		return ndjson;
+	}
+
+	private List<JsonNode> parse(String ndjson) throws IOException {
+		List<JsonNode> comments = new ArrayList<>();
+		for (String line : ndjson.split("\n")) {
+			if (!line.isEmpty()) {
+				comments.add(objectMapper.readTree(line));
+			}
+		}
+		return comments;
+	}
+}
@@ -0,0 +1,79 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import com.intuit.comments.cache.CommentPageCache;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.ranking.CommentRankOrder;
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+
+/**
+ * Cached comment pages of a post are served until a write to the post moves
+ * it to a new generation; pages of other posts stay cached.
+ */
+class CommentPageCacheTests extends IntegrationTest {
+
+	@Autowired
+	private CommentPageCache commentPageCache;
+
+	@Test
+	void newCommentInvalidatesPagesOfItsPost() {
+		Long postId = newPost();
+		addComment(postId, null);
+		assertEquals(1, recentCount(postId));
+
+		// Written around the service, so the cached page is still served
+		insertComment(postId, LocalDateTime.now(ZoneOffset.UTC));
+		assertEquals(1, recentCount(postId));
+
+		addComment(postId, null);
+		assertEquals(3, recentCount(postId));
+	}
+
+	@Test
+	void counterFlushInvalidatesPagesOfItsPost() {
+		Long postId = newPost();
+		Long first = addComment(postId, null).id();
+		Long second = addComment(postId, null).id();
+		activityCounterBuffer.flush();
+		// Ties on net likes go to the newer comment
+		assertEquals(second, topByLikes(postId).get(0).id());
+
+		activityCounterBuffer.recordCommentReaction(first, postId, Delta.reactions(1, 0));
+		activityCounterBuffer.flush();
+
+		assertEquals(first, topByLikes(postId).get(0).id());
+	}
+
+	@Test
+	void invalidationIsPerPost() {
+		AtomicInteger loads = new AtomicInteger();
+		Long postId = newPost();
+		Long otherPostId = newPost();
+		commentPageCache.get(postId, "test", "", 10, loads::incrementAndGet);
+		commentPageCache.get(otherPostId, "test", "", 10, loads::incrementAndGet);
+
+		commentPageCache.invalidatePost(postId);
+		commentPageCache.get(postId, "test", "", 10, loads::incrementAndGet);
+		commentPageCache.get(otherPostId, "test", "", 10, loads::incrementAndGet);
+
+		assertEquals(3, loads.get());
+	}
+
+	private int recentCount(Long postId) {
+		return commentService.findRecentByPost(postId, null, 10).items().size();
+	}
+
+	private List<CommentResponseDTO> topByLikes(Long postId) {
+		return commentService.findTopCommentsByPost(postId, CommentRankOrder.LIKES, PageRequest.of(0, 10));
+	}
+}
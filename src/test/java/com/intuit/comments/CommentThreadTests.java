@@ -0,0 +1,72 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.intuit.comments.dto.CommentThreadDTO;
+
+/**
+ * A post's thread nests every reply under its parent, newest first at each
+ * level, and is cut by the depth and fan-out limits.
+ */
+class CommentThreadTests extends IntegrationTest {
+
+	private Long postId;
+	private Long older;
+	private Long newer;
+	private Long olderReply;
+	private Long newerReply;
+	private Long nestedReply;
+
+	@BeforeEach
+	void addThread() {
+		postId = newPost();
+		older = addComment(postId, null).id();
+		olderReply = addComment(postId, older).id();
+		nestedReply = addComment(postId, olderReply).id();
+		newerReply = addComment(postId, older).id();
+		newer = addComment(postId, null).id();
+		activityCounterBuffer.flush();
+	}
+
+	@Test
+	void repliesAreNestedNewestFirst() {
+		List<CommentThreadDTO> thread = commentService.findThreadByPost(postId, 2, 10);
+
+		assertEquals(List.of(newer, older), ids(thread));
+		assertTrue(thread.get(0).replies().isEmpty());
+		CommentThreadDTO olderThread = thread.get(1);
+		assertEquals(List.of(newerReply, olderReply), ids(olderThread.replies()));
+		assertFalse(olderThread.hasMoreReplies());
+		assertEquals(List.of(nestedReply), ids(olderThread.replies().get(1).replies()));
+		assertEquals(2, olderThread.replies().get(1).replies().get(0).depth());
+	}
+
+	@Test
+	void depthLimitCutsDeeperReplies() {
+		CommentThreadDTO olderReplyThread = commentService.findThreadByPost(postId, 1, 10).get(1).replies().get(1);
+
+		assertEquals(olderReply, olderReplyThread.id());
+		assertTrue(olderReplyThread.replies().isEmpty());
+		assertTrue(olderReplyThread.hasMoreReplies());
+	}
+
+	@Test
+	void fanOutLimitKeepsNewestPerParent() {
+		List<CommentThreadDTO> thread = commentService.findThreadByPost(postId, 2, 1);
+
+		// The older top-level comment is cut, and its replies with it
+		assertEquals(List.of(newer), ids(thread));
+		assertTrue(thread.get(0).replies().isEmpty());
+	}
+
+	private static List<Long> ids(List<CommentThreadDTO> comments) {
+		return comments.stream().map(CommentThreadDTO::id).toList();
+	}
+}
@@ -0,0 +1,106 @@
+package com.intuit.comments;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import com.intuit.comments.dto.AcceptedCommentDTO;
+import com.intuit.comments.exceptions.CommentNotFoundException;
+import com.intuit.comments.exceptions.CommentValidationException;
+
+/**
+ * Accepted comments are written in the background: replies are validated
+ * against written and pending parents on accept, timestamps are stored in
+ * UTC, and a comment that cannot be written does not take its batch with it.
+ * The write-behind queue only exists when enabled, so these tests run in a
+ * context and database of their own.
+ */
+@TestPropertySource(properties = { "spring.datasource.url=jdbc:h2:mem:write-behind",
+		"comments.write-behind.enabled=true", "comments.write-behind.retry-backoff-ms=10" })
+class CommentWriteBehindTests extends IntegrationTest {
+
+	private static final Duration WRITE_TIMEOUT = Duration.ofSeconds(10);
+
+	@Test
+	void acceptedCommentIsWrittenInUtc() {
+		AcceptedCommentDTO accepted = commentService.acceptComment(comment(newPost(), null, "Written later"));
+
+		await().atMost(WRITE_TIMEOUT).until(() -> exists(accepted.id()));
+		LocalDateTime stored = jdbcTemplate.queryForObject("SELECT created_at FROM comments WHERE id = ?",
+				LocalDateTime.class, accepted.id());
+		LocalDateTime expected = accepted.createdAt().atZone(ZoneId.systemDefault())
+				.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+		assertTrue(Duration.between(expected, stored).abs().toMillis() < 1, stored + " vs " + expected);
+	}
+
+	@Test
+	void replyToPendingParentIsAcceptedAndNested() {
+		Long postId = newPost();
+		AcceptedCommentDTO parent = commentService.acceptComment(comment(postId, null, "Pending parent"));
+		AcceptedCommentDTO reply = commentService.acceptComment(comment(postId, parent.id(), "Reply to pending"));
+
+		await().atMost(WRITE_TIMEOUT).until(() -> exists(reply.id()));
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT depth FROM comments WHERE id = ?", Integer.class,
+				reply.id()));
+	}
+
+	@Test
+	void replyToUnknownParentIsRejected() {
+		assertThrows(CommentNotFoundException.class,
+				() -> commentService.acceptComment(comment(newPost(), 999_999L, "Orphan")));
+	}
+
+	@Test
+	void replyToParentOnAnotherPostIsRejected() {
+		AcceptedCommentDTO parent = commentService.acceptComment(comment(newPost(), null, "Parent"));
+
+		assertThrows(CommentValidationException.class,
+				() -> commentService.acceptComment(comment(newPost(), parent.id(), "Wrong post")));
+	}
+
+	@Test
+	void replyPastDepthLimitIsRejectedOnAccept() {
+		// comments.max-reply-depth is 3 in the tests
+		Long postId = newPost();
+		AcceptedCommentDTO parent = commentService.acceptComment(comment(postId, null, "Depth 0"));
+		for (int depth = 1; depth <= 3; depth++) {
+			parent = commentService.acceptComment(comment(postId, parent.id(), "Depth " + depth));
+		}
+		Long deepest = parent.id();
+
+		assertThrows(CommentValidationException.class,
+				() -> commentService.acceptComment(comment(postId, deepest, "Depth 4")));
+	}
+
+	@Test
+	void commentThatCannotBeWrittenIsDroppedAlone() {
+		Long postId = newPost();
+		jdbcTemplate.execute("ALTER TABLE comments ADD CONSTRAINT chk_poison CHECK (content <> 'Poison')");
+		try {
+			List<AcceptedCommentDTO> accepted = List.of(
+					commentService.acceptComment(comment(postId, null, "Before")),
+					commentService.acceptComment(comment(postId, null, "Poison")),
+					commentService.acceptComment(comment(postId, null, "After")));
+
+			await().atMost(WRITE_TIMEOUT).until(() -> exists(accepted.get(0).id()) && exists(accepted.get(2).id()));
+			assertFalse(exists(accepted.get(1).id()));
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE comments DROP CONSTRAINT chk_poison");
+		}
+	}
+
+	private boolean exists(Long commentId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE id = ?", Integer.class, commentId) > 0;
+	}
+}
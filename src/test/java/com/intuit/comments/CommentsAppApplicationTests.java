@@ -1,10 +1,8 @@
 package com.intuit.comments;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class CommentsAppApplicationTests {
+class CommentsAppApplicationTests extends IntegrationTest {
 
 	@Test
 	void contextLoads() {
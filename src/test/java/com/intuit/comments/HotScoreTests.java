@@ -0,0 +1,104 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.ranking.HotScore;
+import com.intuit.comments.repo.ActivityCounterRepository;
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+
+/**
+ * Hot comments decay with a half-life of {@value HotScore#HALF_LIFE_HOURS}
+ * hours: a day-old comment needs more than four times the activity of a new
+ * one to rank above it, and new activity lifts an old comment again. Only
+ * top-level comments are ranked. Scores are computed from the same UTC clock
+ * as the stored creation times.
+ */
+class HotScoreTests extends IntegrationTest {
+
+	private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+	private static final Instant DAY_AGO = NOW.minus(Duration.ofHours(2L * HotScore.HALF_LIFE_HOURS));
+
+	@Autowired
+	private ActivityCounterRepository activityCounterRepository;
+
+	@Test
+	void newCommentOutranksDayOldCommentWithLessThanFourTimesTheActivity() {
+		Long postId = newPost();
+		// Two likes and the comment itself, a day ago: 3 units decayed to 3/4 of a new one
+		Long old = insertHotComment(postId, DAY_AGO);
+		activityCounterRepository.applyCommentDeltas(Map.of(old, Delta.reactions(2, 0)), DAY_AGO);
+		Long fresh = insertHotComment(postId, NOW);
+
+		assertEquals(List.of(fresh, old), hotIds(postId));
+	}
+
+	@Test
+	void dayOldCommentWithMoreThanFourTimesTheActivityOutranksNewComment() {
+		Long postId = newPost();
+		// Five likes and the comment itself, a day ago: 6 units decayed to 3/2 of a new one
+		Long old = insertHotComment(postId, DAY_AGO);
+		activityCounterRepository.applyCommentDeltas(Map.of(old, Delta.reactions(5, 0)), DAY_AGO);
+		Long fresh = insertHotComment(postId, NOW);
+
+		assertEquals(List.of(old, fresh), hotIds(postId));
+	}
+
+	@Test
+	void newLikeLiftsOldComment() {
+		Long postId = newPost();
+		Long old = insertHotComment(postId, DAY_AGO);
+		activityCounterRepository.applyCommentDeltas(Map.of(old, Delta.reactions(2, 0)), DAY_AGO);
+		Long fresh = insertHotComment(postId, NOW);
+		// A like now adds a full unit: 3/4 + 1 of a new comment
+		activityCounterRepository.applyCommentDeltas(Map.of(old, Delta.reactions(1, 0)), NOW);
+
+		assertEquals(List.of(old, fresh), hotIds(postId));
+	}
+
+	@Test
+	void repliesAreNotRankedAmongTopLevelComments() {
+		Long postId = newPost();
+		Long old = insertHotComment(postId, DAY_AGO);
+		Long fresh = insertHotComment(postId, NOW);
+		// As new as the newest top-level comment and inserted after it, so it would rank first
+		Long reply = insertHotComment(postId, NOW);
+		jdbcTemplate.update("UPDATE comments SET parent_id = ? WHERE id = ?", old, reply);
+
+		assertEquals(List.of(fresh, old), hotIds(postId));
+	}
+
+	@Test
+	void addedCommentIsScoredAtItsStoredCreationTime() {
+		Long id = addComment(newPost(), null).id();
+
+		LocalDateTime createdAt = jdbcTemplate.queryForObject("SELECT created_at FROM comments WHERE id = ?",
+				LocalDateTime.class, id);
+		double hotScore = jdbcTemplate.queryForObject("SELECT hot_score FROM comments WHERE id = ?", Double.class, id);
+		assertEquals(HotScore.at(createdAt), hotScore, HotScore.at(NOW.plusSeconds(1)) - HotScore.at(NOW));
+	}
+
+	private Long insertHotComment(Long postId, Instant createdAt) {
+		LocalDateTime utc = LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC);
+		Long id = insertComment(postId, utc);
+		jdbcTemplate.update("UPDATE comments SET hot_score = ? WHERE id = ?", HotScore.at(utc), id);
+		return id;
+	}
+
+	private List<Long> hotIds(Long postId) {
+		return commentService.findHotCommentsByPost(postId, PageRequest.of(0, 10)).stream()
+				.map(CommentResponseDTO::id).toList();
+	}
+}
@@ -0,0 +1,116 @@
+package com.intuit.comments;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.PostDTO;
+import com.intuit.comments.service.CommentService;
+import com.intuit.comments.service.PostService;
+import com.intuit.comments.service.impl.ActivityCounterBuffer;
+
+/**
+ * Base of the application tests. All subclasses share one application context
+ * and database, so each test creates the posts and comments it asserts on
+ * instead of relying on the seed data or on other tests. Counter flushes,
+ * search refreshes and leaderboard reconciles do not run in the background;
+ * tests trigger them where they need them.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"comments.activity.flush-interval-ms=3600000", "comments.search.refresh-interval-ms=3600000",
+		"comments.leaderboard.reconcile-interval-ms=3600000", "comments.max-reply-depth=3" })
+@AutoConfigureMockMvc
+public abstract class IntegrationTest {
+
+	// Seed user of data.sql
+	protected static final Long USER_ID = 1L;
+
+	@Autowired
+	protected MockMvc mockMvc;
+
+	@Autowired
+	protected CommentService commentService;
+
+	@Autowired
+	protected PostService postService;
+
+	@Autowired
+	protected ActivityCounterBuffer activityCounterBuffer;
+
+	@Autowired
+	protected JdbcTemplate jdbcTemplate;
+
+	/**
+	 * @return the ID of a new user without posts or comments
+	 */
+	protected Long newUser() {
+		return new SimpleJdbcInsert(jdbcTemplate).withTableName("users").usingGeneratedKeyColumns("id")
+				.executeAndReturnKey(Map.of("username", "Test user")).longValue();
+	}
+
+	/**
+	 * @return the ID of a new post without comments
+	 */
+	protected Long newPost() {
+		return newPost(USER_ID);
+	}
+
+	/**
+	 * @return the ID of a new post by the given user, without comments
+	 */
+	protected Long newPost(Long userId) {
+		PostDTO post = new PostDTO();
+		post.setUserId(userId);
+		post.setTitle("Test post");
+		post.setContent("Test content");
+		return postService.createPost(post).id();
+	}
+
+	/**
+	 * Adds a comment through the service.
+	 *
+	 * @param parentId the comment to reply to, or null for a top-level comment
+	 */
+	protected CommentResponseDTO addComment(Long postId, Long parentId) {
+		return commentService.addComment(comment(postId, parentId, "Comment on " + postId));
+	}
+
+	/**
+	 * Inserts a comment with the given creation time directly, bypassing the
+	 * service, with an ID from the comment sequence.
+	 *
+	 * @param createdAt the UTC creation time
+	 * @return the ID of the comment
+	 */
+	protected Long insertComment(Long postId, LocalDateTime createdAt) {
+		Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR comments_seq", Long.class);
+		jdbcTemplate.update("INSERT INTO comments (id, post_id, user_id, content, created_at) VALUES (?, ?, ?, ?, ?)",
+				id, postId, USER_ID, "Comment " + id, createdAt);
+		return id;
+	}
+
+	/**
+	 * @return the value of a counter column of a comment, as stored
+	 */
+	protected long counter(String column, Long commentId) {
+		return jdbcTemplate.queryForObject("SELECT " + column + " FROM comments WHERE id = ?", Long.class, commentId);
+	}
+
+	protected static CommentDTO comment(Long postId, Long parentId, String content) {
+		CommentDTO comment = new CommentDTO();
+		comment.setPostId(postId);
+		comment.setParentId(parentId);
+		comment.setUserId(USER_ID);
+		comment.setContent(content);
+		return comment;
+	}
+}
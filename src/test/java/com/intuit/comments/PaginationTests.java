@@ -0,0 +1,55 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.CursorPage;
+
+/**
+ * Keyset pages walk a listing without gaps or repeats, including across rows
+ * with equal timestamps.
+ */
+class PaginationTests extends IntegrationTest {
+
+	@Test
+	void recentCommentsPagesCoverEveryCommentOnce() {
+		// Five comments share each timestamp, so ties are broken by ID
+		Long postId = newPost();
+		LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			expected.add(insertComment(postId, base.plusMinutes(i / 5)));
+		}
+		Collections.reverse(expected);
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		CursorPage<CommentResponseDTO> page;
+		do {
+			page = commentService.findRecentByPost(postId, cursor, 7);
+			page.items().forEach(comment -> seen.add(comment.id()));
+			cursor = page.nextCursor();
+		} while (page.hasNext());
+
+		assertEquals(expected, seen);
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void recentCommentsOfPostWithoutCommentsIsEmpty() {
+		CursorPage<CommentResponseDTO> page = commentService.findRecentByPost(newPost(), null, 10);
+		assertTrue(page.items().isEmpty());
+		assertFalse(page.hasNext());
+		assertNull(page.nextCursor());
+	}
+}
@@ -0,0 +1,64 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import com.intuit.comments.dto.CursorPage;
+import com.intuit.comments.dto.PostResponseDTO;
+
+/**
+ * A user's posts page by offset without overflowing on deep page numbers, and
+ * by keyset through every post once, newest first.
+ */
+class PostsByUserTests extends IntegrationTest {
+
+	@Test
+	void keysetPagesCoverEveryPostOnce() {
+		Long userId = newUser();
+		List<Long> posts = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			posts.add(newPost(userId));
+		}
+		posts.sort(Comparator.reverseOrder());
+
+		List<Long> walked = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		String cursor = null;
+		CursorPage<PostResponseDTO> page;
+		do {
+			page = postService.getRecentPostsByUser(userId, cursor, 3);
+			page.items().forEach(post -> walked.add(post.id()));
+			sizes.add(page.items().size());
+			cursor = page.nextCursor();
+		} while (page.hasNext());
+
+		assertEquals(posts, walked);
+		assertEquals(List.of(3, 3, 1), sizes);
+		assertNull(cursor);
+		assertEquals(posts.subList(3, 6), postService.getPostsByUser(userId, PageRequest.of(1, 3)).stream()
+				.map(PostResponseDTO::id).toList());
+	}
+
+	@Test
+	void userWithoutPostsHasEmptyPage() {
+		CursorPage<PostResponseDTO> page = postService.getRecentPostsByUser(newUser(), null, 3);
+
+		assertTrue(page.items().isEmpty());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void pageNumberPastIntRangeIsEmpty() {
+		// The offset of this page is past Integer.MAX_VALUE
+		assertTrue(postService.getPostsByUser(USER_ID, PageRequest.of(Integer.MAX_VALUE - 1, 100)).isEmpty());
+	}
+}
@@ -0,0 +1,110 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import com.intuit.comments.dto.LikeDislikeDTO;
+import com.intuit.comments.service.ReactionService;
+
+/**
+ * A user holds one reaction per comment: repeating it changes nothing,
+ * switching it moves both counters, and a concurrent duplicate that loses the
+ * race on the unique key is retried and answered like a repeated reaction.
+ */
+class ReactionTests extends IntegrationTest {
+
+	@Autowired
+	private ReactionService reactionService;
+
+	private static final int THREADS = 8;
+
+	@Test
+	void repeatedReactionIsIdempotent() {
+		Long commentId = addComment(newPost(), null).id();
+
+		assertTrue(reactionService.reactToComment(reaction(commentId, true)).changed());
+		assertFalse(reactionService.reactToComment(reaction(commentId, true)).changed());
+		activityCounterBuffer.flush();
+
+		assertEquals(1, counter("like_count", commentId));
+		assertEquals(0, counter("dislike_count", commentId));
+		assertEquals(1, reactionCount(commentId));
+	}
+
+	@Test
+	void switchingReactionMovesBothCounters() {
+		Long commentId = addComment(newPost(), null).id();
+
+		reactionService.reactToComment(reaction(commentId, true));
+		activityCounterBuffer.flush();
+		assertTrue(reactionService.reactToComment(reaction(commentId, false)).changed());
+		activityCounterBuffer.flush();
+
+		assertEquals(0, counter("like_count", commentId));
+		assertEquals(1, counter("dislike_count", commentId));
+		assertEquals(-1, counter("net_likes", commentId));
+		assertEquals(1, reactionCount(commentId));
+	}
+
+	@Test
+	void concurrentDuplicateReactionsAllSucceed() throws Exception {
+		// Each round races the same first reaction of one user on a new comment
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			Set<Integer> statuses = ConcurrentHashMap.newKeySet();
+			for (int round = 0; round < 20; round++) {
+				Long commentId = addComment(newPost(), null).id();
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<Integer>> responses = new ArrayList<>();
+				for (int i = 0; i < THREADS; i++) {
+					responses.add(executor.submit(() -> {
+						start.await();
+						return mockMvc.perform(post("/api/comments/reactions").contentType(MediaType.APPLICATION_JSON)
+								.content("{\"commentId\":" + commentId + ",\"userId\":" + USER_ID + ",\"isLike\":true}"))
+								.andReturn().getResponse().getStatus();
+					}));
+				}
+				start.countDown();
+				for (Future<Integer> response : responses) {
+					statuses.add(response.get(30, TimeUnit.SECONDS));
+				}
+				activityCounterBuffer.flush();
+				assertEquals(1, reactionCount(commentId));
+				assertEquals(1, counter("like_count", commentId));
+			}
+			assertEquals(Set.of(200), statuses);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private long reactionCount(Long commentId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment_reactions WHERE comment_id = ?", Long.class,
+				commentId);
+	}
+
+	private static LikeDislikeDTO reaction(Long commentId, boolean like) {
+		LikeDislikeDTO reaction = new LikeDislikeDTO();
+		reaction.setCommentId(commentId);
+		reaction.setUserId(USER_ID);
+		reaction.setIsLike(like);
+		return reaction;
+	}
+}
@@ -0,0 +1,45 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.exceptions.CommentValidationException;
+
+/**
+ * A reply is counted on its parent's reply count and on the descendant count
+ * of every ancestor, and replies are capped at the reply depth limit.
+ */
+class ReplyCountTests extends IntegrationTest {
+
+	@Test
+	void replyIsCreditedToParentAndAncestors() {
+		Long postId = newPost();
+		CommentResponseDTO root = addComment(postId, null);
+		CommentResponseDTO parent = addComment(postId, root.id());
+
+		CommentResponseDTO reply = addComment(postId, parent.id());
+		activityCounterBuffer.flush();
+
+		assertEquals(2, reply.depth());
+		assertEquals(1, counter("reply_count", root.id()));
+		assertEquals(2, counter("descendant_count", root.id()));
+		assertEquals(1, counter("reply_count", parent.id()));
+		assertEquals(1, counter("descendant_count", parent.id()));
+		assertEquals(0, counter("reply_count", reply.id()));
+	}
+
+	@Test
+	void replyPastDepthLimitIsRejected() {
+		Long postId = newPost();
+		CommentResponseDTO reply = addComment(postId, addComment(postId, null).id());
+		CommentResponseDTO deeper = addComment(postId, reply.id());
+		CommentResponseDTO deepest = addComment(postId, deeper.id());
+		assertEquals(3, deepest.depth());
+
+		assertThrows(CommentValidationException.class,
+				() -> commentService.addComment(comment(postId, deepest.id(), "Too deep")));
+	}
+}
@@ -0,0 +1,38 @@
+package com.intuit.comments;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Column defaults and values written by Hibernate hold the same UTC clock,
+ * whatever the JVM's time zone.
+ */
+class TimestampStorageTests extends IntegrationTest {
+
+	@Test
+	void defaultAndWrittenTimestampsAreUtc() {
+		Long postId = newPost();
+		Long defaulted = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR comments_seq", Long.class);
+		jdbcTemplate.update("INSERT INTO comments (id, post_id, user_id, content) VALUES (?, ?, ?, 'Defaulted')",
+				defaulted, postId, USER_ID);
+		Long written = addComment(postId, null).id();
+
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		assertCloseTo(now, createdAt("comments", defaulted));
+		assertCloseTo(now, createdAt("comments", written));
+		assertCloseTo(now, createdAt("posts", postId));
+	}
+
+	private LocalDateTime createdAt(String table, Long id) {
+		return jdbcTemplate.queryForObject("SELECT created_at FROM " + table + " WHERE id = ?", LocalDateTime.class, id);
+	}
+
+	private static void assertCloseTo(LocalDateTime expected, LocalDateTime actual) {
+		assertTrue(Duration.between(actual, expected).abs().toMinutes() < 1, actual + " is not close to " + expected);
+	}
+}
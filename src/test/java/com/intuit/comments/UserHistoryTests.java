@@ -0,0 +1,102 @@
+package com.intuit.comments;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.comments.dto.CommentDTO;
+import com.intuit.comments.dto.CursorPage;
+import com.intuit.comments.dto.UserCommentDTO;
+
+/**
+ * A user's comment history pages through every comment once, newest first,
+ * across posts and across comments sharing a timestamp; the replies view
+ * leaves out top-level comments.
+ */
+class UserHistoryTests extends IntegrationTest {
+
+	@Test
+	void keysetPagesCoverEveryCommentOnce() {
+		Long userId = newUser();
+		Long postId = newPost();
+		// Four comments with the same timestamp straddle the page boundary
+		LocalDateTime tied = LocalDateTime.of(2025, 1, 1, 12, 0);
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			expected.add(0, insertCommentBy(userId, postId, tied));
+		}
+		Long otherPost = newPost();
+		Long reply = addComment(userId, postId, addComment(postId, null).id());
+		Long topLevel = addComment(userId, otherPost, null);
+		expected.addAll(0, List.of(topLevel, reply));
+
+		List<Long> walked = new ArrayList<>();
+		String cursor = null;
+		CursorPage<UserCommentDTO> page;
+		do {
+			page = commentService.findRecentByUser(userId, false, cursor, 4);
+			page.items().forEach(comment -> walked.add(comment.id()));
+			cursor = page.nextCursor();
+		} while (page.hasNext());
+
+		assertEquals(expected, walked);
+	}
+
+	@Test
+	void repliesOnlyLeavesOutTopLevelComments() throws Exception {
+		Long userId = newUser();
+		Long postId = newPost();
+		Long parent = addComment(postId, null).id();
+		addComment(userId, postId, null);
+		Long reply = addComment(userId, postId, parent);
+
+		mockMvc.perform(get("/api/comments/by-user/{userId}/replies", userId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items", hasSize(1)))
+				.andExpect(jsonPath("$.items[0].id").value(reply))
+				.andExpect(jsonPath("$.items[0].parentId").value(parent))
+				.andExpect(jsonPath("$.hasNext").value(false));
+		mockMvc.perform(get("/api/comments/by-user/{userId}", userId))
+				.andExpect(jsonPath("$.items", hasSize(2)));
+	}
+
+	@Test
+	void snippetIsCutToLength() {
+		Long userId = newUser();
+		CommentDTO comment = comment(newPost(), null, "x".repeat(UserCommentDTO.SNIPPET_LENGTH + 10));
+		comment.setUserId(userId);
+		commentService.addComment(comment);
+
+		CursorPage<UserCommentDTO> page = commentService.findRecentByUser(userId, false, null, 10);
+
+		assertEquals(UserCommentDTO.SNIPPET_LENGTH, page.items().get(0).snippet().length());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void invalidCursorIs400() throws Exception {
+		mockMvc.perform(get("/api/comments/by-user/{userId}", USER_ID).param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private Long addComment(Long userId, Long postId, Long parentId) {
+		CommentDTO comment = comment(postId, parentId, "History of " + userId);
+		comment.setUserId(userId);
+		return commentService.addComment(comment).id();
+	}
+
+	private Long insertCommentBy(Long userId, Long postId, LocalDateTime createdAt) {
+		Long id = insertComment(postId, createdAt);
+		jdbcTemplate.update("UPDATE comments SET user_id = ? WHERE id = ?", userId, id);
+		return id;
+	}
+}
@@ -0,0 +1,124 @@
+package com.intuit.comments.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.load.LoadDriver.Endpoint;
+import com.intuit.comments.load.LoadDriver.EndpointResult;
+
+/**
+ * End-to-end load test of the /api endpoints against the application on a
+ * random port. Clients drive a weighted mix of comment and post writes and
+ * reads, and the results are printed and written as a JSON summary that can
+ * be diffed between builds.
+ * <p>
+ * Run with {@code ./gradlew loadTest}. System properties: {@code load.seconds},
+ * {@code load.clients}, {@code load.seed}, {@code load.report} (summary path)
+ * and {@code load.mix}, e.g.
+ * {@code create-comment=20,create-post=5,recent-comments=35,top-comments=25,posts-by-user=15}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:api-load", "logging.level.com.intuit.comments=WARN" })
+class ApiLoadTest {
+
+	private static final String DEFAULT_MIX = "create-comment=20,create-post=5,recent-comments=35,top-comments=25,posts-by-user=15";
+
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 30));
+	private static final Duration WARMUP = Duration.ofSeconds(5);
+	private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+	private static final long SEED = Long.getLong("load.seed", 1);
+	private static final String MIX = System.getProperty("load.mix", DEFAULT_MIX);
+	private static final Path REPORT = Path.of(System.getProperty("load.report", "build/reports/load/api-load.json"));
+
+	// Seed data of data.sql
+	private static final int USERS = 4;
+	private static final int POSTS = 4;
+
+	@LocalServerPort
+	int port;
+
+	record Summary(Map<String, Object> config, Map<String, EndpointResult> endpoints) {
+	}
+
+	@Test
+	void runMix() throws Exception {
+		String base = "http://localhost:" + port + "/api";
+		Map<String, Function<SplittableRandom, HttpRequest>> endpoints = new LinkedHashMap<>();
+		endpoints.put("create-comment", random -> post(base + "/comments", "{\"postId\":" + id(random, POSTS)
+				+ ",\"userId\":" + id(random, USERS) + ",\"content\":\"Load test comment\"}"));
+		endpoints.put("create-post", random -> post(base + "/post", "{\"userId\":" + id(random, USERS)
+				+ ",\"title\":\"Load test post\",\"content\":\"Load test content\"}"));
+		endpoints.put("recent-comments", random -> get(base + "/comments/recent/" + id(random, POSTS) + "/cursor?size=20"));
+		endpoints.put("top-comments", random -> get(base + "/comments/top/" + id(random, POSTS) + "?size=20"));
+		endpoints.put("posts-by-user", random -> get(base + "/get/posts/by-user?userId=" + id(random, USERS)));
+		List<Endpoint> mix = parseMix(MIX, endpoints);
+
+		LoadDriver driver = new LoadDriver();
+		driver.run(mix, CLIENTS, WARMUP, SEED);
+		Map<String, EndpointResult> results = driver.run(mix, CLIENTS, DURATION, SEED);
+
+		System.out.printf("%n%d clients, %d s, mix %s%n", CLIENTS, DURATION.toSeconds(), MIX);
+		System.out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+				"p99 ms", "p999 ms", "max ms");
+		results.forEach((name, result) -> System.out.printf("%-16s %9d %7d %9.0f %9.2f %9.2f %9.2f %9.2f%n", name,
+				result.requests(), result.errors(), result.requestsPerSecond(), result.p50Millis(),
+				result.p99Millis(), result.p999Millis(), result.maxMillis()));
+
+		Map<String, Object> config = new LinkedHashMap<>();
+		config.put("clients", CLIENTS);
+		config.put("durationSeconds", DURATION.toSeconds());
+		config.put("seed", SEED);
+		config.put("mix", MIX);
+		Files.createDirectories(REPORT.toAbsolutePath().getParent());
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), new Summary(config, results));
+		System.out.println("Summary written to " + REPORT.toAbsolutePath());
+
+		results.values().forEach(result -> assertTrue(result.requests() > 0));
+	}
+
+	private static List<Endpoint> parseMix(String mix, Map<String, Function<SplittableRandom, HttpRequest>> endpoints) {
+		List<Endpoint> parsed = new ArrayList<>();
+		for (String entry : mix.split(",")) {
+			String[] nameAndWeight = entry.trim().split("=");
+			Function<SplittableRandom, HttpRequest> request = endpoints.get(nameAndWeight[0]);
+			if (request == null) {
+				throw new IllegalArgumentException("Unknown endpoint " + nameAndWeight[0] + ", expected one of "
+						+ endpoints.keySet());
+			}
+			parsed.add(new Endpoint(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]), request));
+		}
+		return parsed;
+	}
+
+	private static long id(SplittableRandom random, int count) {
+		return 1 + random.nextInt(count);
+	}
+
+	private static HttpRequest get(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).GET().build();
+	}
+
+	private static HttpRequest post(String url, String body) {
+		return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+	}
+}
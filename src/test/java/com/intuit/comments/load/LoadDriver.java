@@ -0,0 +1,145 @@
+package com.intuit.comments.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Closed-loop HTTP load generator. Each client picks an endpoint from a
+ * weighted mix, sends the request, waits for the response and repeats until
+ * the run ends. Latencies are recorded per endpoint in HdrHistograms.
+ */
+final class LoadDriver {
+
+	private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	/**
+	 * An endpoint in the mix.
+	 *
+	 * @param name    name reported in the results
+	 * @param weight  relative share of the requests
+	 * @param request builds the next request to send
+	 */
+	record Endpoint(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+	}
+
+	/**
+	 * Outcome of a run for one endpoint. Requests answered with a status of
+	 * 400 or above count as errors; their latency is recorded all the same.
+	 */
+	record EndpointResult(long requests, long errors, double requestsPerSecond, double p50Millis, double p99Millis,
+			double p999Millis, double maxMillis) {
+
+		static EndpointResult of(Histogram histogram, long errors, Duration duration) {
+			return new EndpointResult(histogram.getTotalCount(), errors,
+					histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+					millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+					millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+		}
+
+		private static double millis(long micros) {
+			return micros / 1000.0;
+		}
+	}
+
+	/**
+	 * Runs the mix and returns the results per endpoint, in mix order.
+	 *
+	 * @param mix      the endpoints and their weights
+	 * @param clients  number of concurrent clients
+	 * @param duration how long to run
+	 * @param seed     seed of the endpoint choice and request parameters; each
+	 *                 client derives its own sequence from it
+	 */
+	Map<String, EndpointResult> run(List<Endpoint> mix, int clients, Duration duration, long seed) throws Exception {
+		int totalWeight = mix.stream().mapToInt(Endpoint::weight).sum();
+		long deadline = System.nanoTime() + duration.toNanos();
+		SplittableRandom seeds = new SplittableRandom(seed);
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		try {
+			List<Future<Recording>> running = new ArrayList<>(clients);
+			for (int i = 0; i < clients; i++) {
+				SplittableRandom random = seeds.split();
+				running.add(pool.submit(() -> {
+					Recording recording = new Recording(mix);
+					while (System.nanoTime() < deadline) {
+						Endpoint endpoint = pick(mix, totalWeight, random);
+						HttpRequest request = endpoint.request().apply(random);
+						long start = System.nanoTime();
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						recording.record(endpoint, (System.nanoTime() - start) / 1000, response.statusCode() >= 400);
+					}
+					return recording;
+				}));
+			}
+			Recording total = new Recording(mix);
+			for (Future<Recording> recording : running) {
+				total.add(recording.get());
+			}
+			Map<String, EndpointResult> results = new LinkedHashMap<>();
+			for (Endpoint endpoint : mix) {
+				results.put(endpoint.name(), EndpointResult.of(total.histograms.get(endpoint.name()),
+						total.errors.get(endpoint.name()), duration));
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static Endpoint pick(List<Endpoint> mix, int totalWeight, SplittableRandom random) {
+		int ticket = random.nextInt(totalWeight);
+		for (Endpoint endpoint : mix) {
+			ticket -= endpoint.weight();
+			if (ticket < 0) {
+				return endpoint;
+			}
+		}
+		throw new IllegalStateException("Empty mix");
+	}
+
+	/**
+	 * Latencies and errors of one client, merged after the run so clients
+	 * never contend on a shared histogram.
+	 */
+	private static final class Recording {
+
+		final Map<String, Histogram> histograms = new HashMap<>();
+		final Map<String, Long> errors = new HashMap<>();
+
+		Recording(List<Endpoint> mix) {
+			for (Endpoint endpoint : mix) {
+				histograms.put(endpoint.name(), new Histogram(MAX_LATENCY_MICROS, 3));
+				errors.put(endpoint.name(), 0L);
+			}
+		}
+
+		void record(Endpoint endpoint, long latencyMicros, boolean error) {
+			histograms.get(endpoint.name()).recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+			if (error) {
+				errors.merge(endpoint.name(), 1L, Long::sum);
+			}
+		}
+
+		void add(Recording other) {
+			other.histograms.forEach((name, histogram) -> histograms.get(name).add(histogram));
+			other.errors.forEach((name, count) -> errors.merge(name, count, Long::sum));
+		}
+	}
+}
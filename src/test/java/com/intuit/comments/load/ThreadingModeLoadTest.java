@@ -0,0 +1,102 @@
+package com.intuit.comments.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.intuit.comments.CommentsAppApplication;
+import com.intuit.comments.load.LoadDriver.Endpoint;
+import com.intuit.comments.load.LoadDriver.EndpointResult;
+
+/**
+ * Compares requests/sec and p99 latency of the default platform-thread mode
+ * with the {@code virtual} profile on the comment read and write endpoints.
+ * Each mode runs in a fresh application on a random port with its own
+ * in-memory database and the same connection pool, so the comparison is not
+ * skewed by the pool the {@code virtual} profile sizes for itself. Run with
+ * {@code ./gradlew loadTest}; the comparison is skipped on runtimes older than
+ * Java 21, where both modes would use platform threads.
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+	private static final Duration WARMUP = Duration.ofSeconds(2);
+	private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+	private static final long SEED = Long.getLong("load.seed", 1);
+
+	// Command line arguments, so they take precedence over the profile's pool settings
+	private static final String[] POOL = { "--spring.datasource.hikari.maximum-pool-size=50",
+			"--spring.datasource.hikari.minimum-idle=50", "--spring.datasource.hikari.connection-timeout=2000" };
+
+	@Test
+	void compareThreadingModes() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+		Map<String, EndpointResult> platform = run();
+		Map<String, EndpointResult> virtual = run("virtual");
+
+		System.out.printf("%nJava %d, %d clients, %d s per scenario%n", Runtime.version().feature(), CLIENTS,
+				DURATION.toSeconds());
+		System.out.printf("%-14s %-9s %10s %8s %10s %10s%n", "scenario", "mode", "req/s", "errors", "p50 ms", "p99 ms");
+		for (String scenario : platform.keySet()) {
+			print(scenario, "platform", platform.get(scenario));
+			print(scenario, "virtual", virtual.get(scenario));
+		}
+		platform.values().forEach(result -> assertTrue(result.requests() > 0));
+		virtual.values().forEach(result -> assertTrue(result.requests() > 0));
+	}
+
+	private Map<String, EndpointResult> run(String... profiles) throws Exception {
+		try (ConfigurableApplicationContext app = new SpringApplicationBuilder(CommentsAppApplication.class)
+				.profiles(profiles)
+				.properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+						"logging.level.com.intuit.comments=WARN")
+				.run(POOL)) {
+			String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api";
+			Map<String, Function<SplittableRandom, HttpRequest>> scenarios = new LinkedHashMap<>();
+			scenarios.put("read-recent", random -> get(base + "/comments/recent/" + post(random) + "/cursor?size=20"));
+			scenarios.put("read-thread", random -> get(base + "/comments/thread/" + post(random) + "?maxDepth=3&fanOut=10"));
+			scenarios.put("write-comment", random -> HttpRequest.newBuilder(URI.create(base + "/comments"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(
+							"{\"postId\":" + post(random) + ",\"userId\":1,\"content\":\"Load test comment\"}"))
+					.build());
+
+			LoadDriver driver = new LoadDriver();
+			Map<String, EndpointResult> results = new LinkedHashMap<>();
+			for (Map.Entry<String, Function<SplittableRandom, HttpRequest>> scenario : scenarios.entrySet()) {
+				List<Endpoint> mix = List.of(new Endpoint(scenario.getKey(), 1, scenario.getValue()));
+				driver.run(mix, CLIENTS, WARMUP, SEED);
+				results.putAll(driver.run(mix, CLIENTS, DURATION, SEED));
+			}
+			return results;
+		}
+	}
+
+	private static HttpRequest get(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).GET().build();
+	}
+
+	private static long post(SplittableRandom random) {
+		return 1 + random.nextInt(4);
+	}
+
+	private static void print(String scenario, String mode, EndpointResult result) {
+		System.out.printf("%-14s %-9s %10.0f %8d %10.2f %10.2f%n", scenario, mode, result.requestsPerSecond(),
+				result.errors(), result.p50Millis(), result.p99Millis());
+	}
+}
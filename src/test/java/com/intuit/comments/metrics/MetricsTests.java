@@ -0,0 +1,58 @@
+package com.intuit.comments.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.intuit.comments.IntegrationTest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A request is timed under its endpoint's URI template, each repository
+ * method it calls is timed on its own, and the statements it issues are
+ * counted under the same URI template, all with the configured percentiles.
+ */
+class MetricsTests extends IntegrationTest {
+
+	private static final String URI = "/api/comments/recent/{postId}/cursor";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void requestIsTimedPerEndpointAndRepositoryMethod() throws Exception {
+		Long postId = newPost();
+		addComment(postId, null);
+		long before = requestCount();
+
+		mockMvc.perform(get("/api/comments/recent/" + postId + "/cursor")).andExpect(status().isOk());
+
+		assertEquals(before + 1, requestCount());
+		Timer endpoint = meterRegistry.find("http.server.requests").tag("uri", URI).timer();
+		assertEquals(4, endpoint.takeSnapshot().percentileValues().length);
+
+		Timer repositoryMethod = meterRegistry.find("spring.data.repository.invocations")
+				.tag("repository", "CommentRepository").tag("method", "findRecentByPost").timer();
+		assertNotNull(repositoryMethod);
+		assertTrue(repositoryMethod.count() > 0);
+		assertEquals(4, repositoryMethod.takeSnapshot().percentileValues().length);
+
+		DistributionSummary statements = meterRegistry.find(StatementMetricsInterceptor.METRIC_NAME)
+				.tag("method", "GET").tag("uri", URI).summary();
+		assertNotNull(statements);
+		assertTrue(statements.max() >= 1);
+	}
+
+	private long requestCount() {
+		Timer timer = meterRegistry.find("http.server.requests").tag("uri", URI).timer();
+		return timer == null ? 0 : timer.count();
+	}
+}
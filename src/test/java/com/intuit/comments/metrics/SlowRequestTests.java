@@ -0,0 +1,99 @@
+package com.intuit.comments.metrics;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.intuit.comments.IntegrationTest;
+import com.intuit.comments.metrics.SlowRequestLog.Reason;
+import com.intuit.comments.metrics.SlowRequestLog.SlowRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Requests over the JDBC time, statement count or repeated statement
+ * thresholds are listed on {@code /actuator/slowrequests} with their
+ * statement shapes; requests within them are not.
+ */
+class SlowRequestTests extends IntegrationTest {
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void requestWaitingOnRowLockIsFlagged() throws Exception {
+		Long commentId = addComment(newPost(), null).id();
+		jdbcTemplate.update("INSERT INTO comment_reactions (comment_id, user_id, type) VALUES (?, ?, 'like')",
+				commentId, USER_ID);
+		mockMvc.perform(delete("/actuator/slowrequests")).andExpect(status().is2xxSuccessful());
+
+		// Another transaction holds the reaction row for longer than comments.query-profile.max-jdbc-time
+		CountDownLatch locked = new CountDownLatch(1);
+		CompletableFuture<Void> other = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+			jdbcTemplate.queryForList("SELECT type FROM comment_reactions WHERE comment_id = ? FOR UPDATE", commentId);
+			locked.countDown();
+			sleep(600);
+		}));
+		assertTrue(locked.await(10, TimeUnit.SECONDS));
+		mockMvc.perform(post("/api/comments/reactions").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"commentId\":" + commentId + ",\"userId\":" + USER_ID + ",\"isLike\":false}"))
+				.andExpect(status().isOk());
+		other.get(10, TimeUnit.SECONDS);
+
+		mockMvc.perform(get("/actuator/slowrequests"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.thresholds.maxStatements").value(20))
+				.andExpect(jsonPath("$.requests[0].uri").value("/api/comments/reactions"))
+				.andExpect(jsonPath("$.requests[0].reasons", hasItem(Reason.JDBC_TIME.name())))
+				.andExpect(jsonPath("$.requests[0].statementShapes").isNotEmpty());
+	}
+
+	@Test
+	void repeatedStatementIsFlaggedAsNPlusOne() {
+		SlowRequestLog log = new SlowRequestLog(new SimpleMeterRegistry(), 20, Duration.ofMillis(200), 5, 10);
+
+		log.inspect("GET", "/api/within", "/api/within", 200, profile("select * from comments where id = ?", 5));
+		log.inspect("GET", "/api/repeated", "/api/repeated", 200, profile("select * from comments where id = ?", 6));
+		log.inspect("GET", "/api/many", "/api/many", 200, profile("select * from comments where id in (?, ?)", 21));
+
+		assertEquals(2, log.recent().size());
+		SlowRequest many = log.recent().get(0);
+		assertEquals("/api/many", many.uri());
+		assertEquals(Set.of(Reason.STATEMENT_COUNT, Reason.REPEATED_STATEMENT), many.reasons());
+		SlowRequest repeated = log.recent().get(1);
+		assertEquals(Set.of(Reason.REPEATED_STATEMENT), repeated.reasons());
+		assertEquals(6, repeated.statementShapes().get("select * from comments where id = ?"));
+	}
+
+	private static RequestQueryProfile profile(String sql, int times) {
+		RequestQueryProfile.begin();
+		for (int i = 0; i < times; i++) {
+			RequestQueryProfile.current().recordStatement(sql);
+		}
+		return RequestQueryProfile.end();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.intuit.comments.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A bounded ranking keeps the best {@code capacity} entries, one per ID, and
+ * evicts the worst when a better entry arrives.
+ */
+class BoundedRankingTests {
+
+	record Entry(Long id, long score) {
+	}
+
+	private final BoundedRanking<Entry> ranking = new BoundedRanking<>(3,
+			Comparator.comparingLong(Entry::score).reversed().thenComparing(Entry::id), Entry::id, Entry::score);
+
+	@Test
+	void worstEntryIsEvictedWhenFull() {
+		ranking.offer(new Entry(1L, 10));
+		ranking.offer(new Entry(2L, 20));
+		ranking.offer(new Entry(3L, 30));
+		ranking.offer(new Entry(4L, 5));
+		assertEquals(List.of(3L, 2L, 1L), ids(ranking.top(10)));
+
+		ranking.offer(new Entry(5L, 25));
+		assertEquals(List.of(3L, 5L, 2L), ids(ranking.top(10)));
+	}
+
+	@Test
+	void offerReplacesEntryWithSameId() {
+		ranking.offer(new Entry(1L, 10));
+		ranking.offer(new Entry(2L, 20));
+		ranking.offer(new Entry(1L, 30));
+
+		assertEquals(List.of(new Entry(1L, 30), new Entry(2L, 20)), ranking.top(10));
+	}
+
+	@Test
+	void entryWithoutScoreIsDropped() {
+		ranking.offer(new Entry(1L, 10));
+		ranking.offer(new Entry(2L, 20));
+		ranking.offer(new Entry(1L, 0));
+
+		assertEquals(List.of(2L), ids(ranking.top(10)));
+	}
+
+	@Test
+	void evictedEntryCanReturn() {
+		ranking.replaceAll(() -> List.of(new Entry(1L, 10), new Entry(2L, 20), new Entry(3L, 30), new Entry(4L, 40)));
+		assertEquals(List.of(4L, 3L, 2L), ids(ranking.top(10)));
+
+		ranking.offer(new Entry(1L, 50));
+		assertEquals(List.of(1L, 4L), ids(ranking.top(2)));
+	}
+
+	private static List<Long> ids(List<Entry> entries) {
+		return entries.stream().map(Entry::id).toList();
+	}
+}
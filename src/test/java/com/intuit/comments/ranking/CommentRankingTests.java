@@ -0,0 +1,54 @@
+package com.intuit.comments.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import com.intuit.comments.IntegrationTest;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+
+/**
+ * Top comments of a post are ranked among top-level comments only, whatever
+ * the ranking; replies are ranked per parent.
+ */
+class CommentRankingTests extends IntegrationTest {
+
+	@Test
+	void topCommentsExcludeReplies() {
+		Long postId = newPost();
+		Long replied = addComment(postId, null).id();
+		Long liked = addComment(postId, null).id();
+		Long mostLikedReply = addComment(postId, replied).id();
+		Long reply = addComment(postId, replied).id();
+		// The replies outrank both top-level comments on likes and score
+		like(postId, mostLikedReply, 10);
+		like(postId, reply, 8);
+		like(postId, liked, 5);
+		activityCounterBuffer.flush();
+
+		// Net likes 5 beats 0; score 5 beats 0 + 2 per reply
+		assertEquals(List.of(liked, replied), topIds(postId, CommentRankOrder.LIKES));
+		assertEquals(List.of(liked, replied), topIds(postId, CommentRankOrder.SCORE));
+		assertEquals(List.of(replied, liked), topIds(postId, CommentRankOrder.REPLIES));
+		assertEquals(2, commentService.findTopCommentsByPost(postId, CommentRankOrder.REPLIES, PageRequest.of(0, 10))
+				.get(0).replyCount());
+
+		assertEquals(List.of(mostLikedReply, reply),
+				commentService.findTopReplies(replied, CommentRankOrder.LIKES, PageRequest.of(0, 10)).stream()
+						.map(CommentResponseDTO::id).toList());
+		assertEquals(List.of(), commentService.findTopReplies(liked, CommentRankOrder.LIKES, PageRequest.of(0, 10)));
+	}
+
+	private List<Long> topIds(Long postId, CommentRankOrder order) {
+		return commentService.findTopCommentsByPost(postId, order, PageRequest.of(0, 10)).stream()
+				.map(CommentResponseDTO::id).toList();
+	}
+
+	private void like(Long postId, Long commentId, long likes) {
+		activityCounterBuffer.recordCommentReaction(commentId, postId, Delta.reactions(likes, 0));
+	}
+}
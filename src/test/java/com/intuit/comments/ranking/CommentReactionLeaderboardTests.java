@@ -0,0 +1,92 @@
+package com.intuit.comments.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+
+import com.intuit.comments.IntegrationTest;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.event.ActivityCountersFlushedEvent;
+import com.intuit.comments.event.ActivityCountersFlushedEvent.CommentTarget;
+import com.intuit.comments.repo.ActivityCounterRepository.Delta;
+import com.intuit.comments.repo.CommentRepository;
+
+/**
+ * Flushed reaction counters re-rank comments in the global most liked and
+ * most disliked leaderboards, and a rebuild from the database agrees and keeps
+ * those flushed while it reads.
+ */
+class CommentReactionLeaderboardTests extends IntegrationTest {
+
+	// More than any other test gives a comment, so these rank first
+	private static final long MANY = 1_000_000;
+
+	@Autowired
+	private CommentReactionLeaderboard commentReactionLeaderboard;
+
+	@Test
+	void flushedReactionsReRankComments() {
+		Long postId = newPost();
+		Long liked = addComment(postId, null).id();
+		Long disliked = addComment(postId, null).id();
+
+		activityCounterBuffer.recordCommentReaction(liked, postId, Delta.reactions(MANY, 0));
+		activityCounterBuffer.recordCommentReaction(disliked, postId, Delta.reactions(0, MANY));
+		activityCounterBuffer.flush();
+
+		CommentResponseDTO mostLiked = commentService.findMostLikedComments(1).get(0);
+		assertEquals(liked, mostLiked.id());
+		assertEquals(MANY, mostLiked.likeCount());
+		assertEquals(disliked, commentService.findMostDislikedComments(1).get(0).id());
+
+		commentReactionLeaderboard.rebuild();
+		assertEquals(liked, commentService.findMostLikedComments(1).get(0).id());
+		assertEquals(disliked, commentService.findMostDislikedComments(1).get(0).id());
+
+		activityCounterBuffer.recordCommentReaction(liked, postId, Delta.reactions(-MANY, 0));
+		activityCounterBuffer.flush();
+		assertFalse(commentService.findMostLikedComments(commentReactionLeaderboard.size()).stream()
+				.anyMatch(comment -> comment.id().equals(liked)));
+	}
+
+	@Test
+	void rebuildKeepsReactionsFlushedWhileItReads() {
+		CommentReactionLeaderboard leaderboard = new CommentReactionLeaderboard();
+		leaderboard.size = 10;
+		leaderboard.commentRepository = mock(CommentRepository.class);
+		leaderboard.init();
+		CommentResponseDTO liked = comment(1L, 5);
+		// The like is flushed after the rebuild read the index, so the snapshot does not have it
+		when(leaderboard.commentRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(liked));
+		when(leaderboard.commentRepository.findMostLiked(any(Pageable.class))).thenAnswer(invocation -> {
+			leaderboard.onActivityCountersFlushed(new ActivityCountersFlushedEvent(
+					Map.of(new CommentTarget(1L, 1L), Delta.reactions(1, 0)), Map.of()));
+			return List.of(comment(2L, 3));
+		});
+		when(leaderboard.commentRepository.findMostDisliked(any(Pageable.class))).thenReturn(List.of());
+
+		leaderboard.rebuild();
+		assertEquals(List.of(liked, comment(2L, 3)), leaderboard.mostLiked(10));
+
+		// Once a rebuild has read it, the index wins again
+		when(leaderboard.commentRepository.findMostLiked(any(Pageable.class))).thenReturn(List.of(comment(2L, 3)));
+		leaderboard.rebuild();
+		assertEquals(List.of(comment(2L, 3)), leaderboard.mostLiked(10));
+	}
+
+	private static CommentResponseDTO comment(Long id, long likeCount) {
+		return new CommentResponseDTO(id, 1L, null, 1L, "user", "Comment", LocalDateTime.of(2025, 1, 1, 12, 0),
+				likeCount, 0, 0, 0, 0);
+	}
+}
@@ -0,0 +1,173 @@
+package com.intuit.comments.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.intuit.comments.IntegrationTest;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.PostActivityDTO;
+import com.intuit.comments.dto.PostLikeDislikeDTO;
+import com.intuit.comments.dto.PostResponseDTO;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.event.PostCreatedEvent;
+import com.intuit.comments.repo.PostRepository;
+import com.intuit.comments.repo.projection.PostActivityRow;
+import com.intuit.comments.service.ReactionService;
+
+/**
+ * Posts are ranked by reactions, then latest comment, then creation time as
+ * create, comment and reaction events arrive; a reconcile agrees with the
+ * events and keeps those that arrive while it reads the database.
+ */
+class PostActivityLeaderboardTests extends IntegrationTest {
+
+	@Autowired
+	private PostActivityLeaderboard postActivityLeaderboard;
+
+	@Autowired
+	private ReactionService reactionService;
+
+	@Test
+	void rankingFollowsCreateCommentAndReactionEvents() throws Exception {
+		Long older = newPost();
+		Long newer = newPost();
+		// Without comments or reactions, the newer post ranks first
+		assertRankedAbove(newer, older);
+
+		addComment(older, null);
+		assertRankedAbove(older, newer);
+
+		addComment(newer, null);
+		assertRankedAbove(newer, older);
+
+		PostLikeDislikeDTO like = new PostLikeDislikeDTO();
+		like.setPostId(older);
+		like.setUserId(USER_ID);
+		like.setIsLike(true);
+		reactionService.reactToPost(like);
+		activityCounterBuffer.flush();
+		assertRankedAbove(older, newer);
+
+		PostActivityDTO activity = activity(older);
+		assertEquals(1, activity.reactionCount());
+		assertEquals(1, activity.commentCount());
+		mockMvc.perform(get("/api/get/posts/top-activity").param("limit", "100"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.postId == " + older + ")].latestCommentAt")
+						.value(activity.latestCommentAt().toString()));
+	}
+
+	@Test
+	void reconcileAgreesWithEvents() {
+		Long postId = newPost();
+		addComment(postId, null);
+		addComment(postId, null);
+		PostActivityDTO fromEvents = activity(postId);
+
+		postActivityLeaderboard.reconcile();
+
+		PostActivityDTO reconciled = activity(postId);
+		assertEquals(fromEvents.commentCount(), reconciled.commentCount());
+		assertEquals(fromEvents.createdAt().toEpochMilli(), reconciled.createdAt().toEpochMilli());
+		assertEquals(fromEvents.latestCommentAt().toEpochMilli(), reconciled.latestCommentAt().toEpochMilli());
+	}
+
+	@Test
+	void reconcileKeepsEventsArrivingWhileItReads() {
+		PostActivityLeaderboard leaderboard = new PostActivityLeaderboard();
+		leaderboard.postRepository = mock(PostRepository.class);
+		Instant createdAt = Instant.parse("2025-01-01T12:00:00Z");
+		leaderboard.onPostCreated(new PostCreatedEvent(new PostResponseDTO(1L, 1L, "Post", "Post", "Post", createdAt,
+				0, 0)));
+		// The comment is added after the totals were read, so the row does not count it
+		when(leaderboard.postRepository.findPostActivity()).thenAnswer(invocation -> {
+			leaderboard.onCommentAdded(new CommentAddedEvent(new CommentResponseDTO(10L, 1L, null, 1L, "user", "Late",
+					LocalDateTime.of(2025, 1, 1, 13, 0), 0, 0, 0, 0, 0), createdAt.plusSeconds(3600)));
+			return List.of(row(1L, createdAt, 0));
+		});
+
+		leaderboard.reconcile();
+		assertEquals(1, leaderboard.top(0, 10).get(0).commentCount());
+
+		// Left alone once, the post is reconciled on the next run
+		when(leaderboard.postRepository.findPostActivity()).thenReturn(List.of(row(1L, createdAt, 5)));
+		leaderboard.reconcile();
+		assertEquals(5, leaderboard.top(0, 10).get(0).commentCount());
+	}
+
+	@Test
+	void windowsStopAtMaxRank() {
+		PostActivityLeaderboard leaderboard = new PostActivityLeaderboard();
+		Instant createdAt = Instant.parse("2025-01-01T12:00:00Z");
+		for (long id = 1; id <= PostActivityLeaderboard.MAX_RANK + 10; id++) {
+			leaderboard.onPostCreated(new PostCreatedEvent(new PostResponseDTO(id, 1L, "Post", "Post", "Post",
+					createdAt, 0, 0)));
+		}
+
+		assertEquals(5, leaderboard.top(PostActivityLeaderboard.MAX_RANK - 5, 10).size());
+		assertTrue(leaderboard.top(PostActivityLeaderboard.MAX_RANK, 10).isEmpty());
+	}
+
+	private PostActivityDTO activity(Long postId) {
+		return postActivityLeaderboard.top(0, PostActivityLeaderboard.MAX_RANK).stream()
+				.filter(activity -> activity.postId().equals(postId)).findFirst().orElseThrow();
+	}
+
+	private void assertRankedAbove(Long higher, Long lower) {
+		List<Long> ranked = postService.getTopPostsByActivity(0, PostActivityLeaderboard.MAX_RANK).stream()
+				.map(PostActivityDTO::postId).toList();
+		assertTrue(ranked.indexOf(higher) < ranked.indexOf(lower), higher + " is not ranked above " + lower);
+	}
+
+	private static PostActivityRow row(Long id, Instant createdAt, long commentCount) {
+		return new PostActivityRow() {
+
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public Long getUserId() {
+				return 1L;
+			}
+
+			@Override
+			public String getTitle() {
+				return "Post";
+			}
+
+			@Override
+			public Instant getCreatedAt() {
+				return createdAt;
+			}
+
+			@Override
+			public long getReactionCount() {
+				return 0;
+			}
+
+			@Override
+			public long getCommentCount() {
+				return commentCount;
+			}
+
+			@Override
+			public Instant getLatestCommentAt() {
+				return commentCount == 0 ? null : createdAt;
+			}
+		};
+	}
+}
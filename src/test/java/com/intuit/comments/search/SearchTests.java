@@ -0,0 +1,105 @@
+package com.intuit.comments.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.intuit.comments.IntegrationTest;
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.dto.SearchHitDTO;
+import com.intuit.comments.service.impl.SearchServiceImpl;
+
+/**
+ * New comments become searchable at the next refresh with their creation
+ * instant, a rebuild indexes the same instants and never leaves searches
+ * without results, and deep pages come back empty.
+ */
+class SearchTests extends IntegrationTest {
+
+	@Autowired
+	private SearchServiceImpl searchService;
+
+	@Test
+	void newCommentIsSearchableAfterRefreshAndRebuild() {
+		String word = uniqueWord();
+		Instant before = Instant.now();
+		CommentResponseDTO added = commentService.addComment(comment(newPost(), null, "Searchable " + word));
+		searchService.refresh();
+
+		SearchHitDTO hit = single(searchService.search(word, SearchDocuments.COMMENT, null, false, 0, 10));
+		assertEquals(added.id(), hit.id());
+		assertCreatedSince(before, hit.createdAt());
+
+		searchService.rebuild();
+		SearchHitDTO rebuilt = single(searchService.search(word, SearchDocuments.COMMENT, null, false, 0, 10));
+		assertEquals(hit.createdAt(), rebuilt.createdAt());
+	}
+
+	@Test
+	void searchesKeepFindingDocumentsDuringRebuilds() throws InterruptedException {
+		String word = uniqueWord();
+		commentService.addComment(comment(newPost(), null, "Rebuilt " + word));
+		searchService.refresh();
+
+		AtomicBoolean rebuilding = new AtomicBoolean(true);
+		AtomicInteger searches = new AtomicInteger();
+		AtomicInteger empty = new AtomicInteger();
+		Thread searcher = new Thread(() -> {
+			while (rebuilding.get()) {
+				if (searchService.search(word, null, null, false, 0, 5).isEmpty()) {
+					empty.incrementAndGet();
+				}
+				searches.incrementAndGet();
+				searchService.refresh();
+			}
+		});
+		searcher.start();
+		try {
+			for (int i = 0; i < 10; i++) {
+				searchService.rebuild();
+			}
+		} finally {
+			rebuilding.set(false);
+			searcher.join();
+		}
+		assertTrue(searches.get() > 0);
+		assertEquals(0, empty.get());
+	}
+
+	@Test
+	void pagePastIntRangeIsEmpty() {
+		String word = uniqueWord();
+		commentService.addComment(comment(newPost(), null, "Paged " + word));
+		searchService.refresh();
+
+		assertTrue(searchService.search(word, null, null, false, 30_000_000, 100).isEmpty());
+		assertFalse(searchService.search(word, null, null, false, 0, 100).isEmpty());
+	}
+
+	/**
+	 * @return a word no other comment or post contains
+	 */
+	private static String uniqueWord() {
+		return "word" + System.nanoTime();
+	}
+
+	private static SearchHitDTO single(List<SearchHitDTO> hits) {
+		assertEquals(1, hits.size(), hits.toString());
+		return hits.get(0);
+	}
+
+	private static void assertCreatedSince(Instant before, Instant createdAt) {
+		// Allow for the millisecond precision of the index
+		assertFalse(createdAt.isBefore(before.minusMillis(1)), createdAt + " is before " + before);
+		assertTrue(Duration.between(before, createdAt).toSeconds() < 60, createdAt + " is long after " + before);
+	}
+}
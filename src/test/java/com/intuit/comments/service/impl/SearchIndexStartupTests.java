@@ -0,0 +1,114 @@
+package com.intuit.comments.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.intuit.comments.dto.CommentResponseDTO;
+import com.intuit.comments.event.CommentAddedEvent;
+import com.intuit.comments.search.SearchDocuments;
+
+/**
+ * On startup an empty index is built from the database, while an existing
+ * on-disk index is reused if it was closed cleanly and no rebuild is asked
+ * for.
+ */
+class SearchIndexStartupTests {
+
+	@TempDir
+	Path indexDir;
+
+	@Test
+	void emptyIndexIsBuilt() throws IOException {
+		SearchServiceImpl search = open(false);
+		try {
+			search.rebuildOnStartup();
+			verify(search.jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class),
+					any(RowCallbackHandler.class));
+		} finally {
+			search.close();
+		}
+	}
+
+	@Test
+	void existingIndexIsReused() throws IOException {
+		indexOneComment();
+
+		SearchServiceImpl search = open(false);
+		try {
+			search.rebuildOnStartup();
+			verify(search.jdbcTemplate, never()).query(any(PreparedStatementCreator.class),
+					any(RowCallbackHandler.class));
+			assertEquals(1, search.documentCount());
+		} finally {
+			search.close();
+		}
+	}
+
+	@Test
+	void existingIndexIsRebuiltWhenAskedFor() throws IOException {
+		indexOneComment();
+
+		SearchServiceImpl search = open(true);
+		try {
+			search.rebuildOnStartup();
+			// Nothing in the (mocked) database
+			assertEquals(0, search.documentCount());
+		} finally {
+			search.close();
+		}
+	}
+
+	@Test
+	void indexNotClosedCleanlyIsRebuilt() throws IOException {
+		// Committed by an application that never shut down
+		try (Directory directory = FSDirectory.open(indexDir);
+				IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+			writer.addDocument(SearchDocuments.comment(1L, 1L, null, 1L, "Aatish", "Indexed", Instant.now()));
+			writer.commit();
+		}
+
+		SearchServiceImpl search = open(false);
+		try {
+			search.rebuildOnStartup();
+			// Nothing in the (mocked) database
+			assertEquals(0, search.documentCount());
+		} finally {
+			search.close();
+		}
+	}
+
+	private void indexOneComment() throws IOException {
+		SearchServiceImpl search = open(false);
+		search.onCommentAdded(CommentAddedEvent.of(new CommentResponseDTO(1L, 1L, null, 1L, "Aatish", "Indexed",
+				LocalDateTime.now(), 0, 0, 0, 0, 0)));
+		search.close();
+	}
+
+	private SearchServiceImpl open(boolean rebuildOnStartup) throws IOException {
+		SearchServiceImpl search = new SearchServiceImpl();
+		search.jdbcTemplate = mock(JdbcTemplate.class);
+		search.indexDir = indexDir.toString();
+		search.rebuildOnStartup = rebuildOnStartup;
+		search.open();
+		return search;
+	}
+}
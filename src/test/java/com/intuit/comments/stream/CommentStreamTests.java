@@ -0,0 +1,102 @@
+package com.intuit.comments.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.comments.IntegrationTest;
+import com.intuit.comments.dto.CommentResponseDTO;
+
+/**
+ * A subscriber of a post's comment stream receives the comments added to it
+ * afterwards, over a real connection: the broadcaster writes with servlet
+ * non-blocking IO, which MockMvc does not emulate.
+ */
+class CommentStreamTests extends IntegrationTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CommentStreamBroadcaster commentStreamBroadcaster;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void subscriberReceivesAddedComment() throws Exception {
+		Long postId = newPost();
+		int subscribers = commentStreamBroadcaster.subscriberCount();
+
+		HttpResponse<Stream<String>> response = client.send(stream(postId), BodyHandlers.ofLines());
+		try (Stream<String> lines = response.body()) {
+			assertEquals(200, response.statusCode());
+			assertTrue(response.headers().firstValue("Content-Type").orElseThrow()
+					.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+			Iterator<String> events = lines.iterator();
+			assertEquals(":connected", events.next());
+			Awaitility.await().atMost(Duration.ofSeconds(5))
+					.until(() -> commentStreamBroadcaster.subscriberCount() == subscribers + 1);
+
+			CommentResponseDTO added = addComment(postId, null);
+
+			JsonNode data = CompletableFuture.supplyAsync(() -> nextComment(events)).get(10, TimeUnit.SECONDS);
+			assertEquals(added.id(), data.get("id").asLong());
+			assertEquals(postId, data.get("postId").asLong());
+			assertEquals(added.content(), data.get("content").asText());
+		}
+	}
+
+	@Test
+	void unknownPostIs404() throws IOException, InterruptedException {
+		HttpResponse<String> response = client.send(stream(999_999L), BodyHandlers.ofString());
+
+		assertEquals(404, response.statusCode());
+	}
+
+	private HttpRequest stream(Long postId) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/comments/stream/" + postId))
+				.header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE).build();
+	}
+
+	/**
+	 * Reads up to the next {@code comment} event and parses its data.
+	 */
+	private JsonNode nextComment(Iterator<String> lines) {
+		boolean comment = false;
+		while (lines.hasNext()) {
+			String line = lines.next();
+			if (line.equals("event:" + CommentStreamBroadcaster.COMMENT_EVENT)) {
+				comment = true;
+			} else if (comment && line.startsWith("data:")) {
+				try {
+					return objectMapper.readTree(line.substring("data:".length()));
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+		throw new IllegalStateException("Stream ended before a comment event");
+	}
+}